@@ -0,0 +1,68 @@
+package benchmark;
+
+import manager.Managers;
+import manager.task.InMemoryTaskManager;
+import manager.task.TaskManager;
+import model.Task;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Three readers and one writer; other thread counts with -tg <readers>,<writers>. The synchronized baseline is
+// the plain InMemoryTaskManager behind one monitor, run at the same thread counts.
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConcurrencyBenchmark {
+    @Param({"10000"})
+    private int size;
+
+    @Param({"concurrent", "synchronized"})
+    private String implementation;
+
+    private TaskManager manager;
+    private final AtomicInteger next = new AtomicInteger();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        manager = implementation.equals("synchronized")
+                ? new SynchronizedTaskManager(new InMemoryTaskManager(Managers.getDefaultHistory()))
+                : Managers.getConcurrent();
+        Fixtures.fill(manager, size);
+        next.set(size);
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(3)
+    public List<Task> reader() {
+        return manager.getAllTasks();
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(1)
+    public Task writer() {
+        Task task = manager.createTask(Fixtures.timedTask(next.getAndIncrement()));
+        manager.deleteTask(task.getId());
+        return task;
+    }
+}
@@ -0,0 +1,49 @@
+package benchmark;
+
+import manager.task.TaskManager;
+import model.Epic;
+import model.Status;
+import model.Subtask;
+import model.Task;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+final class Fixtures {
+    static final LocalDateTime START = LocalDateTime.of(2025, 1, 1, 0, 0);
+    static final int SUBTASKS_PER_EPIC = 10;
+
+    private Fixtures() {
+    }
+
+    static LocalDateTime slot(int index) {
+        return START.plusMinutes(30L * index);
+    }
+
+    static Task timedTask(int index) {
+        return new Task("Задача " + index, "Описание задачи " + index, Status.NEW, slot(index),
+                Duration.ofMinutes(15));
+    }
+
+    static Subtask timedSubtask(int index, int epicId) {
+        return new Subtask("Подзадача " + index, "Описание подзадачи " + index, Status.IN_PROGRESS, epicId,
+                slot(index), Duration.ofMinutes(15));
+    }
+
+    static Epic fill(TaskManager manager, int size) {
+        Epic epic = null;
+        int subtasks = 0;
+        for (int i = 0; i < size; i++) {
+            if (i % 2 == 0) {
+                manager.createTask(timedTask(i));
+                continue;
+            }
+            if (subtasks % SUBTASKS_PER_EPIC == 0) {
+                epic = manager.createEpic(new Epic("Эпик " + i, "Описание эпика " + i));
+            }
+            manager.createSubTask(timedSubtask(i, epic.getId()));
+            subtasks++;
+        }
+        return epic;
+    }
+}
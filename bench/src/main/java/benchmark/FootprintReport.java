@@ -0,0 +1,57 @@
+package benchmark;
+
+import manager.history.InMemoryHistoryManager;
+import manager.task.InMemoryTaskManager;
+import model.Task;
+import org.openjdk.jol.info.GraphLayout;
+import util.IntLinkedSet;
+import util.IntMap;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Retained size of the id-keyed stores at 1M entries, measured with JOL:
+// java -Djdk.attach.allowAttachSelf -Djol.magicFieldOffset=true -cp target/benchmarks.jar benchmark.FootprintReport
+// Every map entry points to the same task, so only the store itself is counted. The boxed keys of the
+// HashMap are counted too, although the old store shared them with Task.id.
+public class FootprintReport {
+    private static final int SIZE = 1_000_000;
+
+    public static void main(String[] args) {
+        Task task = Fixtures.timedTask(0);
+        Map<Integer, Task> hashMap = new HashMap<>();
+        IntMap<Task> intMap = new IntMap<>();
+        for (int id = 1; id <= SIZE; id++) {
+            hashMap.put(id, task);
+            intMap.put(id, task);
+        }
+        print("HashMap<Integer, Task>", hashMap);
+        print("IntMap<Task>", intMap);
+
+        List<Integer>[] lists = new List[SIZE / Fixtures.SUBTASKS_PER_EPIC];
+        IntLinkedSet[] sets = new IntLinkedSet[lists.length];
+        for (int epic = 0; epic < lists.length; epic++) {
+            lists[epic] = new ArrayList<>();
+            sets[epic] = new IntLinkedSet();
+            for (int i = 0; i < Fixtures.SUBTASKS_PER_EPIC; i++) {
+                int id = epic * Fixtures.SUBTASKS_PER_EPIC + i + 1;
+                lists[epic].add(id);
+                sets[epic].add(id);
+            }
+        }
+        print("100k x ArrayList<Integer> of 10 subtask ids", lists);
+        print("100k x IntLinkedSet of 10 subtask ids", sets);
+
+        InMemoryTaskManager manager = new InMemoryTaskManager(new InMemoryHistoryManager());
+        Fixtures.fill(manager, SIZE);
+        print("InMemoryTaskManager, 1M tasks and subtasks", manager);
+    }
+
+    private static void print(String name, Object root) {
+        GraphLayout layout = GraphLayout.parseInstance(root);
+        System.out.printf("%s: %,d bytes, %,d objects%n%s%n", name, layout.totalSize(), layout.totalCount(),
+                layout.toFootprint());
+    }
+}
\ No newline at end of file
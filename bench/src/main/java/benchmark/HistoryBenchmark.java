@@ -0,0 +1,65 @@
+package benchmark;
+
+import manager.history.HistoryManager;
+import manager.history.InMemoryHistoryManager;
+import model.Task;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HistoryBenchmark {
+    @Param({"10", "1000", "100000"})
+    private int size;
+
+    private HistoryManager historyManager;
+    private Task[] tasks;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        historyManager = new InMemoryHistoryManager(size);
+        tasks = new Task[size * 2];
+        for (int i = 0; i < tasks.length; i++) {
+            tasks[i] = Fixtures.timedTask(i);
+            tasks[i].setId(i + 1);
+        }
+        for (int i = 0; i < size; i++) {
+            historyManager.add(tasks[i]);
+        }
+    }
+
+    @Benchmark
+    public void add() {
+        historyManager.add(tasks[next]);
+        next = (next + 1) % tasks.length;
+    }
+
+    @Benchmark
+    public List<Task> getHistory() {
+        return historyManager.getHistory();
+    }
+
+    @Benchmark
+    public List<Task> addAndGetHistory() {
+        add();
+        return historyManager.getHistory();
+    }
+}
@@ -0,0 +1,140 @@
+package benchmark;
+
+import manager.HttpTaskServer;
+import manager.Managers;
+import manager.task.TaskManager;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+// Requests/sec and latency percentiles of GET /tasks and GET /prioritized under concurrent clients:
+// java -cp target/benchmarks.jar benchmark.HttpLoadReport [clients] [seconds] [virtual|pool:N]
+// The server runs in the same JVM, by default on virtual threads. Every client is a virtual thread that sends
+// the next request as soon as the previous response is read, so the request rate is what the server sustains.
+public class HttpLoadReport {
+    private static final int PORT = 8090;
+    private static final int SIZE = 1_000;
+    private static final int WARMUP_SECONDS = 3;
+
+    public static void main(String[] args) throws Exception {
+        int clients = args.length > 0 ? Integer.parseInt(args[0]) : 1_000;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        String model = args.length > 2 ? args[2] : "virtual";
+
+        TaskManager manager = Managers.getConcurrent();
+        Fixtures.fill(manager, SIZE);
+        ExecutorService executor = model.startsWith("pool:")
+                ? Managers.getFixedThreadPool(Integer.parseInt(model.substring("pool:".length())))
+                : Managers.getVirtualThreadExecutor();
+        HttpTaskServer server = new HttpTaskServer(manager, PORT, clients, executor);
+        server.start();
+
+        try (ExecutorService clientThreads = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient client = HttpClient.newBuilder()
+                     .version(HttpClient.Version.HTTP_1_1)
+                     .executor(clientThreads)
+                     .build()) {
+            System.out.printf("%,d tasks, %,d clients, %d s, server executor: %s%n", SIZE, clients, seconds, model);
+            for (String path : List.of("/tasks", "/prioritized")) {
+                URI uri = URI.create("http://localhost:" + PORT + path);
+                run(client, uri, clients, WARMUP_SECONDS);
+                print(path, run(client, uri, clients, seconds), seconds);
+            }
+        } finally {
+            server.stop();
+            executor.close();
+        }
+    }
+
+    private static List<Client> run(HttpClient client, URI uri, int clients, int seconds)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        List<Client> runs = new ArrayList<>(clients);
+        try (ExecutorService threads = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clients; i++) {
+                Client run = new Client(client, uri, deadline);
+                runs.add(run);
+                threads.execute(run);
+            }
+        }
+        return runs;
+    }
+
+    private static void print(String path, List<Client> runs, int seconds) {
+        int count = 0;
+        int errors = 0;
+        for (Client run : runs) {
+            count += run.count;
+            errors += run.errors;
+        }
+
+        long[] latencies = new long[count];
+        int offset = 0;
+        for (Client run : runs) {
+            System.arraycopy(run.latencies, 0, latencies, offset, run.count);
+            offset += run.count;
+        }
+        Arrays.sort(latencies);
+
+        System.out.printf("%-12s %,10.0f req/s   p50 %8.2f ms   p99 %8.2f ms   max %8.2f ms   errors %,d%n",
+                path, (double) count / seconds, percentile(latencies, 0.50), percentile(latencies, 0.99),
+                percentile(latencies, 1.0), errors);
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(index, 0)] / 1_000_000.0;
+    }
+
+    private static class Client implements Runnable {
+        private final HttpClient client;
+        private final HttpRequest request;
+        private final long deadline;
+        private long[] latencies = new long[1024];
+        private int count;
+        private int errors;
+
+        private Client(HttpClient client, URI uri, long deadline) {
+            this.client = client;
+            this.request = HttpRequest.newBuilder(uri).GET().build();
+            this.deadline = deadline;
+        }
+
+        @Override
+        public void run() {
+            long start;
+            while ((start = System.nanoTime()) < deadline) {
+                try {
+                    HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+                    if (response.statusCode() != 200) {
+                        errors++;
+                        continue;
+                    }
+                } catch (IOException e) {
+                    errors++;
+                    continue;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+
+                if (count == latencies.length) {
+                    latencies = Arrays.copyOf(latencies, count * 2);
+                }
+                latencies[count++] = System.nanoTime() - start;
+            }
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package benchmark;
+
+import api.adapters.DurationAdapter;
+import api.adapters.LocalDateTimeAdapter;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonSerializer;
+import com.google.gson.reflect.TypeToken;
+import model.Task;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import util.IntLinkedSet;
+
+import java.io.BufferedWriter;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static api.Utils.getGson;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonBenchmark {
+    private static final Type TASK_LIST = new TypeToken<List<Task>>() {
+    }.getType();
+
+    @Param({"1", "100", "10000"})
+    private int size;
+
+    @Param({"adapter", "reflective"})
+    private String codec;
+
+    private Gson gson;
+    private List<Task> tasks;
+    private Task task;
+    private byte[] taskJson;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        gson = codec.equals("reflective") ? new GsonBuilder()
+                .serializeNulls()
+                .registerTypeAdapter(LocalDateTime.class, new LocalDateTimeAdapter())
+                .registerTypeAdapter(Duration.class, new DurationAdapter())
+                .registerTypeAdapter(IntLinkedSet.class, (JsonSerializer<IntLinkedSet>) (set, type, context) -> {
+                    JsonArray array = new JsonArray();
+                    set.forEach(id -> array.add(id));
+                    return array;
+                })
+                .create() : getGson();
+        tasks = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Task created = Fixtures.timedTask(i);
+            created.setId(i + 1);
+            tasks.add(created);
+        }
+        task = tasks.getFirst();
+        taskJson = gson.toJson(task).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public byte[] encodeListToString() {
+        return gson.toJson(tasks, TASK_LIST).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public ByteArrayOutputStream encodeListToStream() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8)) {
+            gson.toJson(tasks, TASK_LIST, writer);
+        }
+        return out;
+    }
+
+    @Benchmark
+    public byte[] encodeTaskToString() {
+        return gson.toJson(task).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public OutputStream encodeTaskToStream() throws IOException {
+        OutputStream out = new ByteArrayOutputStream();
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8))) {
+            gson.toJson(task, task.getClass(), writer);
+        }
+        return out;
+    }
+
+    @Benchmark
+    public Task decodeTaskFromString() throws IOException {
+        InputStream body = new ByteArrayInputStream(taskJson);
+        return gson.fromJson(new String(body.readAllBytes(), StandardCharsets.UTF_8), Task.class);
+    }
+
+    @Benchmark
+    public Task decodeTaskFromReader() throws IOException {
+        try (Reader reader = new InputStreamReader(new ByteArrayInputStream(taskJson), StandardCharsets.UTF_8)) {
+            return gson.fromJson(reader, Task.class);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package benchmark;
+
+import manager.Managers;
+import manager.file.FileBackedTaskManager;
+import model.Durability;
+import model.LoadMode;
+import model.SaveMode;
+import model.Task;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PersistenceBenchmark {
+    @Param({"1000", "100000"})
+    private int size;
+
+    @Param({"SNAPSHOT", "JOURNAL"})
+    private SaveMode saveMode;
+
+    private Path directory;
+    private Path file;
+    private FileBackedTaskManager manager;
+    private Task task;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("kanban-bench");
+        file = directory.resolve("tasks.csv");
+        FileBackedTaskManager filled = new FileBackedTaskManager(Managers.getDefaultHistory(), file, saveMode);
+        Fixtures.fill(filled, size);
+        filled.close();
+
+        manager = FileBackedTaskManager.loadFromFile(file, saveMode, Durability.NONE);
+        task = manager.getTask(1);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        manager.close();
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path path : files.toList()) {
+                Files.delete(path);
+            }
+        }
+        Files.delete(directory);
+    }
+
+    @Benchmark
+    public Task updateTask() {
+        Task updated = new Task("Задача " + next++, task.getDescription(), task.getId(), task.getStatus(),
+                task.getStartTime(), task.getDuration());
+        manager.updateTask(updated);
+        return updated;
+    }
+
+    @Benchmark
+    public FileBackedTaskManager loadEager() {
+        return load(LoadMode.EAGER);
+    }
+
+    @Benchmark
+    public FileBackedTaskManager loadLazy() {
+        return load(LoadMode.LAZY);
+    }
+
+    private FileBackedTaskManager load(LoadMode loadMode) {
+        FileBackedTaskManager loaded = FileBackedTaskManager.loadFromFile(file, saveMode, Durability.NONE, loadMode);
+        loaded.close();
+        return loaded;
+    }
+}
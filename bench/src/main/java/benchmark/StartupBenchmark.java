@@ -0,0 +1,84 @@
+package benchmark;
+
+import api.Utils;
+import api.handlers.EpicsHandler;
+import api.handlers.HistoryHandler;
+import api.handlers.PrioritizedHandler;
+import api.handlers.SubtasksHandler;
+import api.handlers.TasksHandler;
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import manager.Managers;
+import manager.task.TaskManager;
+import model.Epic;
+import model.Subtask;
+import model.Task;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// One call per fresh JVM, so cold measures the first server start with the class loading and the Gson build,
+// and warm measures a further server start that reuses the shared, warmed-up instance.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(20)
+public class StartupBenchmark {
+    private TaskManager manager;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        manager = Managers.getDefault();
+        Fixtures.fill(manager, 10);
+    }
+
+    @Benchmark
+    public void cold(Blackhole blackhole) {
+        start(blackhole);
+    }
+
+    @Benchmark
+    public void warm(Blackhole blackhole, WarmGson warmGson) {
+        start(blackhole);
+    }
+
+    private void start(Blackhole blackhole) {
+        Utils.warmUpGson();
+        blackhole.consume(new TasksHandler(manager));
+        blackhole.consume(new SubtasksHandler(manager));
+        blackhole.consume(new EpicsHandler(manager));
+        blackhole.consume(new HistoryHandler(manager));
+        blackhole.consume(new PrioritizedHandler(manager));
+
+        Gson gson = Utils.getGson();
+        blackhole.consume(gson.toJson(manager.getAllTasks(), new TypeToken<List<Task>>() {
+        }.getType()));
+        blackhole.consume(gson.toJson(manager.getAllSubtasks(), new TypeToken<List<Subtask>>() {
+        }.getType()));
+        blackhole.consume(gson.toJson(manager.getAllEpics(), new TypeToken<List<Epic>>() {
+        }.getType()));
+    }
+
+    @State(Scope.Benchmark)
+    public static class WarmGson {
+        @Setup(Level.Trial)
+        public void setUp() {
+            Utils.warmUpGson();
+            Utils.getGson().toJson(Fixtures.timedTask(0));
+        }
+    }
+}
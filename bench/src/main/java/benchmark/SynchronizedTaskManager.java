@@ -0,0 +1,165 @@
+package benchmark;
+
+import manager.task.TaskManager;
+import model.Epic;
+import model.Subtask;
+import model.Task;
+import model.TaskBatch;
+import model.TaskQuery;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Baseline for ConcurrencyBenchmark: every call holds the same monitor, readers included.
+class SynchronizedTaskManager implements TaskManager {
+    private final TaskManager manager;
+
+    SynchronizedTaskManager(TaskManager manager) {
+        this.manager = manager;
+    }
+
+    @Override
+    public synchronized List<Task> getAllTasks() {
+        return manager.getAllTasks();
+    }
+
+    @Override
+    public synchronized List<Subtask> getAllSubtasks() {
+        return manager.getAllSubtasks();
+    }
+
+    @Override
+    public synchronized List<Epic> getAllEpics() {
+        return manager.getAllEpics();
+    }
+
+    @Override
+    public synchronized List<Task> findTasks(TaskQuery query) {
+        return manager.findTasks(query);
+    }
+
+    @Override
+    public synchronized void removeAllTasks() {
+        manager.removeAllTasks();
+    }
+
+    @Override
+    public synchronized void removeAllSubTasks() {
+        manager.removeAllSubTasks();
+    }
+
+    @Override
+    public synchronized void removeAllEpics() {
+        manager.removeAllEpics();
+    }
+
+    @Override
+    public synchronized Task getTask(int id) {
+        return manager.getTask(id);
+    }
+
+    @Override
+    public synchronized Subtask getSubTask(int id) {
+        return manager.getSubTask(id);
+    }
+
+    @Override
+    public synchronized Epic getEpic(int id) {
+        return manager.getEpic(id);
+    }
+
+    @Override
+    public synchronized Task createTask(Task task) {
+        return manager.createTask(task);
+    }
+
+    @Override
+    public synchronized Subtask createSubTask(Subtask subtask) {
+        return manager.createSubTask(subtask);
+    }
+
+    @Override
+    public synchronized Epic createEpic(Epic epic) {
+        return manager.createEpic(epic);
+    }
+
+    @Override
+    public synchronized List<Task> applyBatch(TaskBatch batch) {
+        return manager.applyBatch(batch);
+    }
+
+    @Override
+    public synchronized void updateTask(Task task) {
+        manager.updateTask(task);
+    }
+
+    @Override
+    public synchronized void updateSubTask(Subtask subtask) {
+        manager.updateSubTask(subtask);
+    }
+
+    @Override
+    public synchronized void updateEpic(Epic epic) {
+        manager.updateEpic(epic);
+    }
+
+    @Override
+    public synchronized void updateTask(Task task, int expectedVersion) {
+        manager.updateTask(task, expectedVersion);
+    }
+
+    @Override
+    public synchronized void updateSubTask(Subtask subtask, int expectedVersion) {
+        manager.updateSubTask(subtask, expectedVersion);
+    }
+
+    @Override
+    public synchronized void updateEpic(Epic epic, int expectedVersion) {
+        manager.updateEpic(epic, expectedVersion);
+    }
+
+    @Override
+    public synchronized void deleteTask(int id) {
+        manager.deleteTask(id);
+    }
+
+    @Override
+    public synchronized void deleteEpic(int id) {
+        manager.deleteEpic(id);
+    }
+
+    @Override
+    public synchronized void deleteSubTask(int id) {
+        manager.deleteSubTask(id);
+    }
+
+    @Override
+    public synchronized List<Subtask> getEpicSubTasks(Epic epic) {
+        return manager.getEpicSubTasks(epic);
+    }
+
+    @Override
+    public synchronized List<Task> getHistory() {
+        return manager.getHistory();
+    }
+
+    @Override
+    public synchronized List<Task> getHistory(int limit) {
+        return manager.getHistory(limit);
+    }
+
+    @Override
+    public synchronized List<Task> getPrioritizedTasks() {
+        return manager.getPrioritizedTasks();
+    }
+
+    @Override
+    public synchronized List<Task> getPrioritizedTasks(LocalDateTime from, LocalDateTime to) {
+        return manager.getPrioritizedTasks(from, to);
+    }
+
+    @Override
+    public synchronized long getModificationCount() {
+        return manager.getModificationCount();
+    }
+}
@@ -0,0 +1,92 @@
+package benchmark;
+
+import manager.Managers;
+import manager.task.TaskManager;
+import model.Epic;
+import model.Subtask;
+import model.Task;
+import model.TaskQuery;
+import model.Type;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskManagerBenchmark {
+    @Param({"10000", "100000", "1000000"})
+    private int size;
+
+    @Param({"default", "compact"})
+    private String manager;
+
+    private TaskManager taskManager;
+    private Epic epic;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private TaskQuery page;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        taskManager = manager.equals("compact") ? Managers.getCompact() : Managers.getDefault();
+        epic = Fixtures.fill(taskManager, size);
+        from = Fixtures.slot(size / 2);
+        to = Fixtures.slot(size / 2 + 100);
+        page = new TaskQuery(Type.TASK);
+        page.setCursor(size / 2);
+        page.setLimit(50);
+        next = size;
+    }
+
+    @Benchmark
+    public Task createAndDeleteTask() {
+        Task task = taskManager.createTask(Fixtures.timedTask(next++));
+        taskManager.deleteTask(task.getId());
+        return task;
+    }
+
+    @Benchmark
+    public Subtask createAndDeleteSubtask() {
+        Subtask subtask = taskManager.createSubTask(Fixtures.timedSubtask(next++, epic.getId()));
+        taskManager.deleteSubTask(subtask.getId());
+        return subtask;
+    }
+
+    @Benchmark
+    public List<Task> getPrioritizedTasks() {
+        return taskManager.getPrioritizedTasks();
+    }
+
+    @Benchmark
+    public List<Task> getPrioritizedTasksWindow() {
+        return taskManager.getPrioritizedTasks(from, to);
+    }
+
+    @Benchmark
+    public List<Subtask> getEpicSubTasks() {
+        return taskManager.getEpicSubTasks(epic);
+    }
+
+    @Benchmark
+    public List<Task> findTasksPage() {
+        return taskManager.findTasks(page);
+    }
+}
@@ -1,20 +1,50 @@
 package api;
 
 import api.adapters.DurationAdapter;
+import api.adapters.EpicAdapter;
 import api.adapters.LocalDateTimeAdapter;
+import api.adapters.SubtaskAdapter;
+import api.adapters.TaskAdapter;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.reflect.TypeToken;
+import model.Epic;
+import model.Status;
+import model.Subtask;
+import model.Task;
+import model.TaskQuery;
+import model.Type;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 public class Utils {
+    private static final Gson GSON = createGson();
+    private static final Set<String> QUERY_PARAMETERS = Set.of("cursor", "cursorTime", "limit", "status", "from", "to");
+
     public static Gson getGson() {
+        return GSON;
+    }
+
+    public static void warmUpGson() {
+        for (Class<?> type : List.of(Task.class, Subtask.class, Epic.class)) {
+            GSON.getAdapter(type);
+            GSON.getAdapter(TypeToken.getParameterized(List.class, type));
+        }
+    }
+
+    private static Gson createGson() {
         return new GsonBuilder()
                 .serializeNulls()
                 .registerTypeAdapter(LocalDateTime.class, new LocalDateTimeAdapter())
                 .registerTypeAdapter(Duration.class, new DurationAdapter())
+                .registerTypeAdapter(Task.class, new TaskAdapter())
+                .registerTypeAdapter(Subtask.class, new SubtaskAdapter())
+                .registerTypeAdapter(Epic.class, new EpicAdapter())
                 .create();
     }
 
@@ -27,4 +57,72 @@ public class Utils {
         }
     }
 
+    public static Optional<Integer> getVersion(String etag) {
+        String value = etag.trim();
+        if (value.length() < 3 || !value.startsWith("\"") || !value.endsWith("\"")) {
+            return Optional.empty();
+        }
+
+        try {
+            int version = Integer.parseInt(value.substring(1, value.length() - 1));
+            return version > 0 ? Optional.of(version) : Optional.empty();
+        } catch (NumberFormatException exception) {
+            return Optional.empty();
+        }
+    }
+
+    public static Optional<TaskQuery> getTaskQuery(String query, Type type) {
+        return getTaskQuery(query, type, QUERY_PARAMETERS);
+    }
+
+    public static Optional<TaskQuery> getTaskQuery(String query, Type type, Set<String> parameters) {
+        TaskQuery taskQuery = new TaskQuery(type);
+        try {
+            for (String parameter : query.split("&")) {
+                String[] pair = parameter.split("=", 2);
+                String value = pair.length == 2 ? pair[1] : "";
+                if (!parameters.contains(pair[0])) {
+                    return Optional.empty();
+                }
+                switch (pair[0]) {
+                    case "cursor":
+                        taskQuery.setCursor(Integer.parseInt(value));
+                        if (taskQuery.getCursor() < 0) {
+                            return Optional.empty();
+                        }
+                        break;
+                    case "cursorTime":
+                        taskQuery.setCursorTime(LocalDateTimeAdapter.parse(value));
+                        break;
+                    case "limit":
+                        taskQuery.setLimit(Integer.parseInt(value));
+                        if (taskQuery.getLimit() <= 0) {
+                            return Optional.empty();
+                        }
+                        break;
+                    case "status":
+                        taskQuery.setStatus(Status.valueOf(value));
+                        break;
+                    case "from":
+                        taskQuery.setFrom(LocalDateTimeAdapter.parse(value));
+                        break;
+                    case "to":
+                        taskQuery.setTo(LocalDateTimeAdapter.parse(value));
+                        break;
+                    default:
+                        return Optional.empty();
+                }
+            }
+        } catch (IllegalArgumentException | DateTimeParseException exception) {
+            return Optional.empty();
+        }
+
+        // A time range is paged by start time and id, other queries by id alone.
+        boolean timeCursor = taskQuery.getCursorTime() != null;
+        if (taskQuery.hasTimeRange() ? timeCursor != (taskQuery.getCursor() > 0) : timeCursor) {
+            return Optional.empty();
+        }
+        return Optional.of(taskQuery);
+    }
+
 }
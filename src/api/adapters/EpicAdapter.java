@@ -0,0 +1,81 @@
+package api.adapters;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import model.Epic;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.PrimitiveIterator;
+
+public class EpicAdapter extends TypeAdapter<Epic> {
+
+    @Override
+    public void write(final JsonWriter jsonWriter, final Epic epic) throws IOException {
+        if (epic == null) {
+            jsonWriter.nullValue();
+            return;
+        }
+
+        jsonWriter.beginObject();
+        jsonWriter.name("subTasks");
+        jsonWriter.beginArray();
+        for (PrimitiveIterator.OfInt iterator = epic.getSubTasks().iterator(); iterator.hasNext(); ) {
+            jsonWriter.value(iterator.nextInt());
+        }
+        jsonWriter.endArray();
+        jsonWriter.name("endTime");
+        TaskFields.writeTime(jsonWriter, epic.getEndTime());
+        TaskFields.write(jsonWriter, epic);
+        jsonWriter.endObject();
+    }
+
+    @Override
+    public Epic read(final JsonReader jsonReader) throws IOException {
+        if (jsonReader.peek() == JsonToken.NULL) {
+            jsonReader.nextNull();
+            return null;
+        }
+
+        final TaskFields fields = new TaskFields();
+        final Epic epic = new Epic(null, null);
+        LocalDateTime endTime = null;
+        jsonReader.beginObject();
+        while (jsonReader.hasNext()) {
+            final String field = jsonReader.nextName();
+            if (field.equals("subTasks")) {
+                readSubTasks(jsonReader, epic);
+            } else if (field.equals("endTime")) {
+                endTime = TaskFields.readTime(jsonReader);
+            } else if (!fields.read(jsonReader, field)) {
+                jsonReader.skipValue();
+            }
+        }
+        jsonReader.endObject();
+
+        epic.setName(fields.name);
+        epic.setDescription(fields.description);
+        epic.setId(fields.id);
+        epic.setStatus(fields.status);
+        epic.setDuration(fields.duration);
+        epic.setStartTime(fields.startTime);
+        epic.setEndTime(endTime);
+        return epic;
+    }
+
+    private static void readSubTasks(JsonReader jsonReader, Epic epic) throws IOException {
+        epic.getSubTasks().clear();
+        if (jsonReader.peek() == JsonToken.NULL) {
+            jsonReader.nextNull();
+            return;
+        }
+
+        jsonReader.beginArray();
+        while (jsonReader.hasNext()) {
+            epic.getSubTasks().add(jsonReader.nextInt());
+        }
+        jsonReader.endArray();
+    }
+}
\ No newline at end of file
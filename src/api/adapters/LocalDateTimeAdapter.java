@@ -5,16 +5,18 @@ import com.google.gson.stream.JsonReader;
 import com.google.gson.stream.JsonWriter;
 
 import java.io.IOException;
+import java.time.DateTimeException;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 
 public class LocalDateTimeAdapter extends TypeAdapter<LocalDateTime> {
     private static final DateTimeFormatter dtf = DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm");
+    private static final int LENGTH = 16;
 
     @Override
     public void write(final JsonWriter jsonWriter, final LocalDateTime localDateTime) throws IOException {
         if (localDateTime != null) {
-            jsonWriter.value(localDateTime.format(dtf));
+            jsonWriter.value(format(localDateTime));
         } else {
             jsonWriter.value("null");
         }
@@ -27,6 +29,62 @@ public class LocalDateTimeAdapter extends TypeAdapter<LocalDateTime> {
             return null;
         }
 
+        return parse(text);
+    }
+
+    public static String format(LocalDateTime time) {
+        int year = time.getYear();
+        if (year < 1 || year > 9999) {
+            return time.format(dtf);
+        }
+
+        char[] chars = new char[LENGTH];
+        putDigits(chars, 0, time.getDayOfMonth(), 2);
+        chars[2] = '.';
+        putDigits(chars, 3, time.getMonthValue(), 2);
+        chars[5] = '.';
+        putDigits(chars, 6, year, 4);
+        chars[10] = ' ';
+        putDigits(chars, 11, time.getHour(), 2);
+        chars[13] = ':';
+        putDigits(chars, 14, time.getMinute(), 2);
+        return new String(chars);
+    }
+
+    public static LocalDateTime parse(String text) {
+        if (text.length() == LENGTH && text.charAt(2) == '.' && text.charAt(5) == '.' && text.charAt(10) == ' '
+                && text.charAt(13) == ':') {
+            int day = getDigits(text, 0, 2);
+            int month = getDigits(text, 3, 2);
+            int year = getDigits(text, 6, 4);
+            int hour = getDigits(text, 11, 2);
+            int minute = getDigits(text, 14, 2);
+            if (day >= 0 && month >= 0 && year >= 1 && hour >= 0 && minute >= 0) {
+                try {
+                    return LocalDateTime.of(year, month, day, hour, minute);
+                } catch (DateTimeException ignored) {
+                }
+            }
+        }
         return LocalDateTime.parse(text, dtf);
     }
+
+    private static void putDigits(char[] chars, int offset, int value, int count) {
+        for (int i = offset + count - 1; i >= offset; i--) {
+            chars[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+
+    private static int getDigits(String text, int offset, int count) {
+        int value = 0;
+        for (int i = offset; i < offset + count; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + c - '0';
+        }
+        return value;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,50 @@
+package api.adapters;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import model.Subtask;
+
+import java.io.IOException;
+
+public class SubtaskAdapter extends TypeAdapter<Subtask> {
+
+    @Override
+    public void write(final JsonWriter jsonWriter, final Subtask subtask) throws IOException {
+        if (subtask == null) {
+            jsonWriter.nullValue();
+            return;
+        }
+
+        jsonWriter.beginObject();
+        jsonWriter.name("epicId");
+        TaskFields.writeInteger(jsonWriter, subtask.getEpicId());
+        TaskFields.write(jsonWriter, subtask);
+        jsonWriter.endObject();
+    }
+
+    @Override
+    public Subtask read(final JsonReader jsonReader) throws IOException {
+        if (jsonReader.peek() == JsonToken.NULL) {
+            jsonReader.nextNull();
+            return null;
+        }
+
+        final TaskFields fields = new TaskFields();
+        Integer epicId = null;
+        jsonReader.beginObject();
+        while (jsonReader.hasNext()) {
+            final String field = jsonReader.nextName();
+            if (field.equals("epicId")) {
+                epicId = TaskFields.readInteger(jsonReader);
+            } else if (!fields.read(jsonReader, field)) {
+                jsonReader.skipValue();
+            }
+        }
+        jsonReader.endObject();
+
+        return new Subtask(fields.name, fields.description, fields.id, fields.status, epicId, fields.startTime,
+                fields.duration);
+    }
+}
\ No newline at end of file
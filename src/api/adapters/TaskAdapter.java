@@ -0,0 +1,44 @@
+package api.adapters;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import model.Task;
+
+import java.io.IOException;
+
+public class TaskAdapter extends TypeAdapter<Task> {
+
+    @Override
+    public void write(final JsonWriter jsonWriter, final Task task) throws IOException {
+        if (task == null) {
+            jsonWriter.nullValue();
+            return;
+        }
+
+        jsonWriter.beginObject();
+        TaskFields.write(jsonWriter, task);
+        jsonWriter.endObject();
+    }
+
+    @Override
+    public Task read(final JsonReader jsonReader) throws IOException {
+        if (jsonReader.peek() == JsonToken.NULL) {
+            jsonReader.nextNull();
+            return null;
+        }
+
+        final TaskFields fields = new TaskFields();
+        jsonReader.beginObject();
+        while (jsonReader.hasNext()) {
+            if (!fields.read(jsonReader, jsonReader.nextName())) {
+                jsonReader.skipValue();
+            }
+        }
+        jsonReader.endObject();
+
+        return new Task(fields.name, fields.description, fields.id, fields.status, fields.startTime,
+                fields.duration);
+    }
+}
\ No newline at end of file
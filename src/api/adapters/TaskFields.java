@@ -0,0 +1,131 @@
+package api.adapters;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import model.Status;
+import model.Task;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+class TaskFields {
+    private static final Map<String, Status> STATUSES = new HashMap<>();
+
+    static {
+        for (Status status : Status.values()) {
+            STATUSES.put(status.name(), status);
+        }
+    }
+
+    String name;
+    String description;
+    Integer id;
+    Status status;
+    Duration duration;
+    LocalDateTime startTime;
+
+    boolean read(JsonReader jsonReader, String field) throws IOException {
+        switch (field) {
+            case "name":
+                name = readString(jsonReader);
+                return true;
+            case "description":
+                description = readString(jsonReader);
+                return true;
+            case "id":
+                id = readInteger(jsonReader);
+                return true;
+            case "status":
+                String value = readString(jsonReader);
+                status = value == null ? null : STATUSES.get(value);
+                return true;
+            case "duration":
+                duration = readDuration(jsonReader);
+                return true;
+            case "startTime":
+                startTime = readTime(jsonReader);
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    static void write(JsonWriter jsonWriter, Task task) throws IOException {
+        jsonWriter.name("name");
+        writeString(jsonWriter, task.getName());
+        jsonWriter.name("description");
+        writeString(jsonWriter, task.getDescription());
+        jsonWriter.name("id");
+        writeInteger(jsonWriter, task.getId());
+        jsonWriter.name("status");
+        writeString(jsonWriter, task.getStatus() == null ? null : task.getStatus().name());
+        jsonWriter.name("duration");
+        if (task.getDuration() == null) {
+            jsonWriter.value("0");
+        } else {
+            jsonWriter.value(task.getDuration().toMinutes());
+        }
+        jsonWriter.name("startTime");
+        writeTime(jsonWriter, task.getStartTime());
+    }
+
+    static void writeString(JsonWriter jsonWriter, String value) throws IOException {
+        if (value == null) {
+            jsonWriter.nullValue();
+        } else {
+            jsonWriter.value(value);
+        }
+    }
+
+    static void writeInteger(JsonWriter jsonWriter, Integer value) throws IOException {
+        if (value == null) {
+            jsonWriter.nullValue();
+        } else {
+            jsonWriter.value(value.intValue());
+        }
+    }
+
+    static void writeTime(JsonWriter jsonWriter, LocalDateTime time) throws IOException {
+        jsonWriter.value(time == null ? "null" : LocalDateTimeAdapter.format(time));
+    }
+
+    static String readString(JsonReader jsonReader) throws IOException {
+        JsonToken token = jsonReader.peek();
+        if (token == JsonToken.NULL) {
+            jsonReader.nextNull();
+            return null;
+        }
+        if (token == JsonToken.BOOLEAN) {
+            return Boolean.toString(jsonReader.nextBoolean());
+        }
+        return jsonReader.nextString();
+    }
+
+    static Integer readInteger(JsonReader jsonReader) throws IOException {
+        if (jsonReader.peek() == JsonToken.NULL) {
+            jsonReader.nextNull();
+            return null;
+        }
+        return jsonReader.nextInt();
+    }
+
+    static LocalDateTime readTime(JsonReader jsonReader) throws IOException {
+        String text = readString(jsonReader);
+        if (text == null || text.equals("null")) {
+            return null;
+        }
+        return LocalDateTimeAdapter.parse(text);
+    }
+
+    private static Duration readDuration(JsonReader jsonReader) throws IOException {
+        String text = readString(jsonReader);
+        if (text == null || text.equals("null")) {
+            return null;
+        }
+        return Duration.ofMinutes(Long.parseLong(text));
+    }
+}
\ No newline at end of file
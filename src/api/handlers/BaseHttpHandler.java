@@ -1,10 +1,24 @@
 package api.handlers;
 
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonWriter;
 import com.sun.net.httpserver.HttpExchange;
+import manager.task.TaskManager;
+import model.Task;
 
+import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.ObjIntConsumer;
+import java.util.function.Supplier;
+
+import static api.Utils.getVersion;
 
 public class BaseHttpHandler {
     protected void sendText(HttpExchange exchange, int statusCode, String text) throws IOException {
@@ -27,6 +41,107 @@ public class BaseHttpHandler {
         }
     }
 
+    protected void sendTask(HttpExchange exchange, Gson gson, Task task) throws IOException {
+        String etag = getEtag(task);
+        exchange.getResponseHeaders().add("ETag", etag);
+        if (isNotModified(exchange.getRequestHeaders().getFirst("If-None-Match"), etag)) {
+            try (exchange) {
+                exchange.sendResponseHeaders(304, -1);
+            }
+            return;
+        }
+        sendJson(exchange, writer -> gson.toJson(task, task.getClass(), writer));
+    }
+
+    protected void sendUpdated(HttpExchange exchange, Task task, String text) throws IOException {
+        exchange.getResponseHeaders().add("ETag", getEtag(task));
+        sendText(exchange, 201, text);
+    }
+
+    // Without If-Match (or with "*") the task is overwritten, otherwise it is updated only at the given version.
+    protected <T extends Task> boolean putIfMatch(HttpExchange exchange, T task, Consumer<T> update,
+                                                  ObjIntConsumer<T> updateIfMatch) throws IOException {
+        String ifMatch = exchange.getRequestHeaders().getFirst("If-Match");
+        if (ifMatch == null || ifMatch.trim().equals("*")) {
+            update.accept(task);
+            return true;
+        }
+
+        Optional<Integer> version = getVersion(ifMatch);
+        if (version.isEmpty()) {
+            sendBadRequest(exchange, "Некорректный заголовок If-Match");
+            return false;
+        }
+        updateIfMatch.accept(task, version.get());
+        return true;
+    }
+
+    private static String getEtag(Task task) {
+        return "\"" + task.getVersion() + "\"";
+    }
+
+    protected void sendJson(HttpExchange exchange, Gson gson, List<? extends Task> tasks) throws IOException {
+        sendJson(exchange, writer -> writeJson(gson, tasks, writer));
+    }
+
+    private void sendJson(HttpExchange exchange, JsonBody body) throws IOException {
+        try (exchange) {
+            exchange.getResponseHeaders().add("Content-Type", "application/json;charset=utf-8");
+            exchange.sendResponseHeaders(200, 0);
+            try (Writer writer = new BufferedWriter(
+                    new OutputStreamWriter(exchange.getResponseBody(), StandardCharsets.UTF_8))) {
+                body.write(writer);
+            }
+        }
+    }
+
+    protected void sendCachedJson(HttpExchange exchange, ResponseCache cache, Gson gson, TaskManager manager,
+                                  Supplier<List<? extends Task>> source) throws IOException {
+        ResponseCache.Entry entry = cache.getEntry(gson, manager, source);
+        exchange.getResponseHeaders().add("ETag", entry.getEtag());
+        if (isNotModified(exchange.getRequestHeaders().getFirst("If-None-Match"), entry.getEtag())) {
+            try (exchange) {
+                exchange.sendResponseHeaders(304, -1);
+            }
+            return;
+        }
+        sendJson(exchange, entry.getBody());
+    }
+
+    private void sendJson(HttpExchange exchange, byte[] body) throws IOException {
+        try (exchange) {
+            exchange.getResponseHeaders().add("Content-Type", "application/json;charset=utf-8");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(body);
+            }
+        }
+    }
+
+    static void writeJson(Gson gson, List<? extends Task> tasks, Writer writer) throws IOException {
+        JsonWriter jsonWriter = gson.newJsonWriter(writer);
+        jsonWriter.beginArray();
+        for (Task task : tasks) {
+            gson.toJson(task, task.getClass(), jsonWriter);
+        }
+        jsonWriter.endArray();
+        jsonWriter.flush();
+    }
+
+    private static boolean isNotModified(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+
+        for (String tag : ifNoneMatch.split(",")) {
+            tag = tag.trim();
+            if (tag.equals("*") || tag.equals(etag) || tag.equals("W/" + etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     protected void sendBadRequest(HttpExchange exchange, String text) throws IOException {
         try (exchange) {
             System.out.println(text);
@@ -60,6 +175,16 @@ public class BaseHttpHandler {
         }
     }
 
+    protected void sendPreconditionFailed(HttpExchange exchange, Exception exception) throws IOException {
+        try (exchange) {
+            byte[] resp = exception.getMessage().getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(412, resp.length);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(resp);
+            }
+        }
+    }
+
     protected void sendInternalError(HttpExchange exchange, Exception exception) throws IOException {
         try (exchange) {
             exception.printStackTrace();
@@ -70,4 +195,8 @@ public class BaseHttpHandler {
             }
         }
     }
+
+    private interface JsonBody {
+        void write(Writer writer) throws IOException;
+    }
 }
\ No newline at end of file
@@ -5,23 +5,29 @@ import com.sun.net.httpserver.HttpExchange;
 import com.sun.net.httpserver.HttpHandler;
 import exception.NotFoundException;
 import exception.ValidationException;
+import exception.VersionConflictException;
 import manager.task.TaskManager;
 import model.Endpoint;
 import model.Epic;
 import model.Subtask;
+import model.TaskQuery;
+import model.Type;
 
 import java.io.IOException;
-import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Optional;
 
 import static api.Utils.getGson;
 import static api.Utils.getId;
+import static api.Utils.getTaskQuery;
 
 public class EpicsHandler extends BaseHttpHandler implements HttpHandler {
     private final TaskManager manager;
     private final Gson gson;
+    private final ResponseCache cache = new ResponseCache();
 
     public EpicsHandler(TaskManager manager) {
         this.manager = manager;
@@ -79,6 +85,8 @@ public class EpicsHandler extends BaseHttpHandler implements HttpHandler {
                 sendHasInteractions(exchange, exception);
             } catch (NotFoundException exception) {
                 sendNotFound(exchange, exception);
+            } catch (VersionConflictException exception) {
+                sendPreconditionFailed(exchange, exception);
             } catch (RuntimeException exception) {
                 sendInternalError(exchange, exception);
             }
@@ -109,25 +117,34 @@ public class EpicsHandler extends BaseHttpHandler implements HttpHandler {
     }
 
     private void getEpic(HttpExchange exchange) throws IOException {
-        List<Epic> epics = manager.getAllEpics();
-        sendText(exchange, 200, gson.toJson(epics));
+        String query = exchange.getRequestURI().getQuery();
+        if (query == null) {
+            sendCachedJson(exchange, cache, gson, manager, manager::getAllEpics);
+            return;
+        }
+
+        Optional<TaskQuery> taskQuery = getTaskQuery(query, Type.EPIC);
+        if (taskQuery.isEmpty()) {
+            sendBadRequest(exchange, "Некорректные параметры запроса");
+            return;
+        }
+        sendJson(exchange, gson, manager.findTasks(taskQuery.get()));
     }
 
     private void getEpicById(HttpExchange exchange, Integer id) throws IOException {
         Epic epic = manager.getEpic(id);
-        sendText(exchange, 200, gson.toJson(epic));
+        sendTask(exchange, gson, epic);
     }
 
     private void getEpicSubtasks(HttpExchange exchange, Integer id) throws IOException {
         Epic epic = manager.getEpic(id);
         List<Subtask> epicSubtasks = manager.getEpicSubTasks(epic);
-        sendText(exchange, 200, gson.toJson(epicSubtasks));
+        sendJson(exchange, gson, epicSubtasks);
     }
 
     private void postCreateEpic(HttpExchange exchange) throws IOException {
-        try (InputStream inputStream = exchange.getRequestBody()) {
-            String body = new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
-            Epic epicFromJson = gson.fromJson(body, Epic.class);
+        try (Reader reader = new InputStreamReader(exchange.getRequestBody(), StandardCharsets.UTF_8)) {
+            Epic epicFromJson = gson.fromJson(reader, Epic.class);
 
             manager.createEpic(epicFromJson);
             sendText(exchange, 201, "Эпик успешно создан");
@@ -135,21 +152,23 @@ public class EpicsHandler extends BaseHttpHandler implements HttpHandler {
     }
 
     private void postUpdateEpic(HttpExchange exchange, Integer id) throws IOException {
-        try (InputStream inputStream = exchange.getRequestBody()) {
-            String body = new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
-            Epic epicFromJson = gson.fromJson(body, Epic.class);
+        try (Reader reader = new InputStreamReader(exchange.getRequestBody(), StandardCharsets.UTF_8)) {
+            Epic epicFromJson = gson.fromJson(reader, Epic.class);
             Epic epicCorrect = new Epic(epicFromJson.getName(), epicFromJson.getDescription());
 
             if (!epicFromJson.getId().equals(id)) {
                 sendBadRequest(exchange, "id указан неверно или null");
+                return;
             }
 
             if (epicFromJson.getId() != null) {
                 epicCorrect.setId(epicFromJson.getId());
             }
 
-            manager.updateEpic(epicCorrect);
-            sendText(exchange, 201, "Эпик успешно обновлен");
+            if (!putIfMatch(exchange, epicCorrect, manager::updateEpic, manager::updateEpic)) {
+                return;
+            }
+            sendUpdated(exchange, epicCorrect, "Эпик успешно обновлен");
         }
     }
 
@@ -4,16 +4,19 @@ import com.google.gson.Gson;
 import com.sun.net.httpserver.HttpExchange;
 import com.sun.net.httpserver.HttpHandler;
 import manager.task.TaskManager;
-import model.Task;
+import model.TaskQuery;
 
 import java.io.IOException;
-import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
 import static api.Utils.getGson;
+import static api.Utils.getTaskQuery;
 
 public class HistoryHandler extends BaseHttpHandler implements HttpHandler {
     private final TaskManager manager;
     private final Gson gson;
+    private final ResponseCache cache = new ResponseCache(true);
 
     public HistoryHandler(TaskManager manager) {
         this.manager = manager;
@@ -23,8 +26,18 @@ public class HistoryHandler extends BaseHttpHandler implements HttpHandler {
     @Override
     public void handle(HttpExchange exchange) throws IOException {
         try (exchange) {
-            List<Task> history = manager.getHistory();
-            sendText(exchange, 200, gson.toJson(history));
+            String query = exchange.getRequestURI().getQuery();
+            if (query == null) {
+                sendCachedJson(exchange, cache, gson, manager, manager::getHistory);
+                return;
+            }
+
+            Optional<TaskQuery> taskQuery = getTaskQuery(query, null, Set.of("limit"));
+            if (taskQuery.isEmpty()) {
+                sendBadRequest(exchange, "Некорректные параметры запроса");
+                return;
+            }
+            sendJson(exchange, gson, manager.getHistory(taskQuery.get().getLimit()));
         } catch (RuntimeException exception) {
             sendInternalError(exchange, exception);
         }
@@ -4,16 +4,19 @@ import com.google.gson.Gson;
 import com.sun.net.httpserver.HttpExchange;
 import com.sun.net.httpserver.HttpHandler;
 import manager.task.TaskManager;
-import model.Task;
+import model.TaskQuery;
 
 import java.io.IOException;
-import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
 import static api.Utils.getGson;
+import static api.Utils.getTaskQuery;
 
 public class PrioritizedHandler extends BaseHttpHandler implements HttpHandler {
     private final TaskManager manager;
     private final Gson gson;
+    private final ResponseCache cache = new ResponseCache();
 
     public PrioritizedHandler(TaskManager manager) {
         this.manager = manager;
@@ -23,10 +26,24 @@ public class PrioritizedHandler extends BaseHttpHandler implements HttpHandler {
     @Override
     public void handle(HttpExchange exchange) throws IOException {
         try (exchange) {
-            List<Task> prioritized = manager.getPrioritizedTasks();
-            sendText(exchange, 200, gson.toJson(prioritized));
+            String query = exchange.getRequestURI().getQuery();
+            if (query == null) {
+                sendCachedJson(exchange, cache, gson, manager, manager::getPrioritizedTasks);
+                return;
+            }
+
+            Optional<TaskQuery> window = getTaskQuery(query, null, Set.of("from", "to"));
+            if (window.isEmpty() || isReversed(window.get())) {
+                sendBadRequest(exchange, "Некорректные параметры запроса");
+                return;
+            }
+            sendJson(exchange, gson, manager.getPrioritizedTasks(window.get().getFrom(), window.get().getTo()));
         } catch (RuntimeException exception) {
             sendInternalError(exchange, exception);
         }
     }
+
+    private static boolean isReversed(TaskQuery window) {
+        return window.getFrom() != null && window.getTo() != null && window.getFrom().isAfter(window.getTo());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,93 @@
+package api.handlers;
+
+import com.google.gson.Gson;
+import manager.task.TaskManager;
+import model.Task;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.function.Supplier;
+
+class ResponseCache {
+    private final boolean keyedOnList;
+    private volatile Entry entry;
+
+    ResponseCache() {
+        this(false);
+    }
+
+    // History views change the list without a modification of the manager, so such a source is read on every
+    // request and the entry is reused only for the same list instance.
+    ResponseCache(boolean keyedOnList) {
+        this.keyedOnList = keyedOnList;
+    }
+
+    Entry getEntry(Gson gson, TaskManager manager, Supplier<List<? extends Task>> source) {
+        long modifications = manager.getModificationCount();
+        Entry current = entry;
+        List<? extends Task> tasks = keyedOnList ? source.get() : null;
+        if (current != null && current.modifications == modifications && (!keyedOnList || current.source == tasks)) {
+            return current;
+        }
+
+        if (tasks == null) {
+            tasks = source.get();
+        }
+        byte[] body = encode(gson, tasks);
+        Entry built = new Entry(keyedOnList ? tasks : null, modifications, body, "\"" + getHash(body) + "\"");
+        // A write that lands while the list is read leaves the entry uncached, it may not match the count.
+        if (manager.getModificationCount() == modifications) {
+            entry = built;
+        }
+        return built;
+    }
+
+    private static byte[] encode(Gson gson, List<? extends Task> tasks) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8)) {
+            BaseHttpHandler.writeJson(gson, tasks, writer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static String getHash(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return HexFormat.of().formatHex(digest, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static class Entry {
+        private final List<? extends Task> source;
+        private final long modifications;
+        private final byte[] body;
+        private final String etag;
+
+        private Entry(List<? extends Task> source, long modifications, byte[] body, String etag) {
+            this.source = source;
+            this.modifications = modifications;
+            this.body = body;
+            this.etag = etag;
+        }
+
+        byte[] getBody() {
+            return body;
+        }
+
+        String getEtag() {
+            return etag;
+        }
+    }
+}
\ No newline at end of file
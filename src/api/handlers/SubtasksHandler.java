@@ -5,22 +5,27 @@ import com.sun.net.httpserver.HttpExchange;
 import com.sun.net.httpserver.HttpHandler;
 import exception.NotFoundException;
 import exception.ValidationException;
+import exception.VersionConflictException;
 import manager.task.TaskManager;
 import model.Endpoint;
 import model.Subtask;
+import model.TaskQuery;
+import model.Type;
 
 import java.io.IOException;
-import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
 import java.nio.charset.StandardCharsets;
-import java.util.List;
 import java.util.Optional;
 
 import static api.Utils.getGson;
 import static api.Utils.getId;
+import static api.Utils.getTaskQuery;
 
 public class SubtasksHandler extends BaseHttpHandler implements HttpHandler {
     private final TaskManager manager;
     private final Gson gson;
+    private final ResponseCache cache = new ResponseCache();
 
     public SubtasksHandler(TaskManager manager) {
         this.manager = manager;
@@ -70,6 +75,8 @@ public class SubtasksHandler extends BaseHttpHandler implements HttpHandler {
                 sendHasInteractions(exchange, exception);
             } catch (NotFoundException exception) {
                 sendNotFound(exchange, exception);
+            } catch (VersionConflictException exception) {
+                sendPreconditionFailed(exchange, exception);
             } catch (RuntimeException exception) {
                 sendInternalError(exchange, exception);
             }
@@ -96,20 +103,28 @@ public class SubtasksHandler extends BaseHttpHandler implements HttpHandler {
     }
 
     private void getSubtasks(HttpExchange exchange) throws IOException {
-        List<Subtask> subtasks = manager.getAllSubtasks();
-        sendText(exchange, 200, gson.toJson(subtasks));
+        String query = exchange.getRequestURI().getQuery();
+        if (query == null) {
+            sendCachedJson(exchange, cache, gson, manager, manager::getAllSubtasks);
+            return;
+        }
+
+        Optional<TaskQuery> taskQuery = getTaskQuery(query, Type.SUBTASK);
+        if (taskQuery.isEmpty()) {
+            sendBadRequest(exchange, "Некорректные параметры запроса");
+            return;
+        }
+        sendJson(exchange, gson, manager.findTasks(taskQuery.get()));
     }
 
     private void getSubtaskById(HttpExchange exchange, Integer id) throws IOException {
         Subtask subtask = manager.getSubTask(id);
-        sendText(exchange, 200, gson.toJson(subtask));
+        sendTask(exchange, gson, subtask);
     }
 
     private void postCreateSubtask(HttpExchange exchange) throws IOException {
-        try (InputStream inputStream = exchange.getRequestBody()) {
-
-            String body = new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
-            Subtask subtaskFromJson = gson.fromJson(body, Subtask.class);
+        try (Reader reader = new InputStreamReader(exchange.getRequestBody(), StandardCharsets.UTF_8)) {
+            Subtask subtaskFromJson = gson.fromJson(reader, Subtask.class);
 
             manager.createSubTask(subtaskFromJson);
             sendText(exchange, 201, "Подзадача успешно создана");
@@ -117,18 +132,18 @@ public class SubtasksHandler extends BaseHttpHandler implements HttpHandler {
     }
 
     private void postUpdateSubtask(HttpExchange exchange, Integer id) throws IOException {
-        try (InputStream inputStream = exchange.getRequestBody()) {
-
-            String body = new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
-            Subtask subtaskFromJson = gson.fromJson(body, Subtask.class);
+        try (Reader reader = new InputStreamReader(exchange.getRequestBody(), StandardCharsets.UTF_8)) {
+            Subtask subtaskFromJson = gson.fromJson(reader, Subtask.class);
 
             if (!subtaskFromJson.getId().equals(id)) {
                 sendBadRequest(exchange, "id указан неверно или null");
                 return;
             }
 
-            manager.updateSubTask(subtaskFromJson);
-            sendText(exchange, 201, "Задача успешно обновлена");
+            if (!putIfMatch(exchange, subtaskFromJson, manager::updateSubTask, manager::updateSubTask)) {
+                return;
+            }
+            sendUpdated(exchange, subtaskFromJson, "Задача успешно обновлена");
         }
     }
 
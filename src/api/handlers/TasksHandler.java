@@ -5,22 +5,30 @@ import com.sun.net.httpserver.HttpExchange;
 import com.sun.net.httpserver.HttpHandler;
 import exception.NotFoundException;
 import exception.ValidationException;
+import exception.VersionConflictException;
 import manager.task.TaskManager;
 import model.Endpoint;
 import model.Task;
+import model.TaskBatch;
+import model.TaskQuery;
+import model.Type;
 
 import java.io.IOException;
-import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 import static api.Utils.getGson;
 import static api.Utils.getId;
+import static api.Utils.getTaskQuery;
 
 public class TasksHandler extends BaseHttpHandler implements HttpHandler {
     private final TaskManager manager;
     private final Gson gson;
+    private final ResponseCache cache = new ResponseCache();
 
     public TasksHandler(TaskManager manager) {
         this.manager = manager;
@@ -55,6 +63,9 @@ public class TasksHandler extends BaseHttpHandler implements HttpHandler {
 
                         postCreateTask(exchange);
                         break;
+                    case POST_TASKS_BATCH:
+                        postBatch(exchange);
+                        break;
                     case DELETE_TASKS:
                         if (id.isPresent()) {
                             deleteTask(exchange, id.get());
@@ -70,6 +81,10 @@ public class TasksHandler extends BaseHttpHandler implements HttpHandler {
                 sendHasInteractions(exchange, exception);
             } catch (NotFoundException exception) {
                 sendNotFound(exchange, exception);
+            } catch (VersionConflictException exception) {
+                sendPreconditionFailed(exchange, exception);
+            } catch (IllegalArgumentException exception) {
+                sendBadRequest(exchange, exception.getMessage());
             } catch (RuntimeException exception) {
                 sendInternalError(exchange, exception);
             }
@@ -79,7 +94,9 @@ public class TasksHandler extends BaseHttpHandler implements HttpHandler {
     private Endpoint getTasksEndpoint(String requestPath, String requestMethod) {
         String[] pathParts = requestPath.split("/");
 
-        if (requestMethod.equals("GET") && pathParts.length == 2) {
+        if (requestMethod.equals("POST") && pathParts.length == 3 && pathParts[2].equals("batch")) {
+            return Endpoint.POST_TASKS_BATCH;
+        } else if (requestMethod.equals("GET") && pathParts.length == 2) {
             return Endpoint.GET_TASKS;
         } else if (requestMethod.equals("GET") && pathParts.length == 3) {
             return Endpoint.GET_TASKS_BY_ID;
@@ -96,19 +113,28 @@ public class TasksHandler extends BaseHttpHandler implements HttpHandler {
     }
 
     private void getTasks(HttpExchange exchange) throws IOException {
-        List<Task> tasks = manager.getAllTasks();
-        sendText(exchange, 200, gson.toJson(tasks));
+        String query = exchange.getRequestURI().getQuery();
+        if (query == null) {
+            sendCachedJson(exchange, cache, gson, manager, manager::getAllTasks);
+            return;
+        }
+
+        Optional<TaskQuery> taskQuery = getTaskQuery(query, Type.TASK);
+        if (taskQuery.isEmpty()) {
+            sendBadRequest(exchange, "Некорректные параметры запроса");
+            return;
+        }
+        sendJson(exchange, gson, manager.findTasks(taskQuery.get()));
     }
 
     private void getTaskById(HttpExchange exchange, Integer id) throws IOException {
         Task task = manager.getTask(id);
-        sendText(exchange, 200, gson.toJson(task));
+        sendTask(exchange, gson, task);
     }
 
     private void postCreateTask(HttpExchange exchange) throws IOException {
-        try (InputStream inputStream = exchange.getRequestBody()) {
-            String body = new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
-            Task taskFromJson = gson.fromJson(body, Task.class);
+        try (Reader reader = new InputStreamReader(exchange.getRequestBody(), StandardCharsets.UTF_8)) {
+            Task taskFromJson = gson.fromJson(reader, Task.class);
 
             manager.createTask(taskFromJson);
             sendText(exchange, 201, "Задача успешно создана");
@@ -116,20 +142,39 @@ public class TasksHandler extends BaseHttpHandler implements HttpHandler {
     }
 
     private void postUpdateTask(HttpExchange exchange, Integer id) throws IOException {
-        try (InputStream inputStream = exchange.getRequestBody()) {
-            String body = new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
-            Task taskFromJson = gson.fromJson(body, Task.class);
+        try (Reader reader = new InputStreamReader(exchange.getRequestBody(), StandardCharsets.UTF_8)) {
+            Task taskFromJson = gson.fromJson(reader, Task.class);
 
             if (!taskFromJson.getId().equals(id)) {
                 sendBadRequest(exchange, "id указан неверно или null");
                 return;
             }
 
-            manager.updateTask(taskFromJson);
-            sendText(exchange, 201, "Задача успешно обновлена");
+            if (!putIfMatch(exchange, taskFromJson, manager::updateTask, manager::updateTask)) {
+                return;
+            }
+            sendUpdated(exchange, taskFromJson, "Задача успешно обновлена");
         }
     }
 
+    private void postBatch(HttpExchange exchange) throws IOException {
+        try (Reader reader = new InputStreamReader(exchange.getRequestBody(), StandardCharsets.UTF_8)) {
+            TaskBatch batch = gson.fromJson(reader, TaskBatch.class);
+
+            if (batch == null || hasNull(batch.getCreate()) || hasNull(batch.getUpdate())
+                    || hasNull(batch.getDelete())) {
+                sendBadRequest(exchange, "Пакет задач не указан или содержит null");
+                return;
+            }
+
+            sendJson(exchange, gson, manager.applyBatch(batch));
+        }
+    }
+
+    private static boolean hasNull(List<?> values) {
+        return values.stream().anyMatch(Objects::isNull);
+    }
+
     private void deleteTask(HttpExchange exchange, Integer id) throws IOException {
         manager.deleteTask(id);
         sendText(exchange, 204, "");
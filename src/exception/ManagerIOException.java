@@ -6,4 +6,8 @@ public class ManagerIOException extends RuntimeException {
     public ManagerIOException(Path path) {
         super("Ошибка в файле: " + path.toFile().getAbsolutePath());
     }
+
+    public ManagerIOException(Path path, Throwable cause) {
+        super("Ошибка в файле: " + path.toFile().getAbsolutePath(), cause);
+    }
 }
\ No newline at end of file
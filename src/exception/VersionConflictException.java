@@ -0,0 +1,7 @@
+package exception;
+
+public class VersionConflictException extends RuntimeException {
+    public VersionConflictException(String message) {
+        super(message);
+    }
+}
\ No newline at end of file
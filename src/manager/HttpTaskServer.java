@@ -1,28 +1,58 @@
 package manager;
 
+import api.Utils;
 import api.handlers.*;
 import com.sun.net.httpserver.HttpServer;
+import manager.task.ConcurrentTaskManager;
 import manager.task.TaskManager;
 
 import java.io.IOException;
 import java.net.InetSocketAddress;
+import java.util.concurrent.ExecutorService;
 
 public class HttpTaskServer {
     private static final int PORT = 8080;
+    private static final int BACKLOG = 0;
     private final TaskManager manager;
     private final HttpServer httpServer;
+    private final ExecutorService executor;
+    private final boolean ownsExecutor;
 
     public HttpTaskServer() throws IOException {
-        this.manager = Managers.getDefault();
-        this.httpServer = HttpServer.create(new InetSocketAddress(PORT), 0);
+        this(Managers.getDefault());
     }
 
     public HttpTaskServer(TaskManager manager) throws IOException {
+        this(manager, PORT, BACKLOG, null);
+    }
+
+    // Runs handlers on virtual threads. The server creates the executor and shuts it down in stop().
+    public HttpTaskServer(TaskManager manager, int port, int backlog) throws IOException {
+        this(manager, port, backlog, Managers.getVirtualThreadExecutor(), true);
+    }
+
+    // The executor stays owned by the caller and is not shut down in stop(). Handlers then run concurrently,
+    // so a manager that is not a ConcurrentTaskManager is wrapped in one. The wrapper does not change the manager,
+    // but direct calls on it are no longer synchronized with the server.
+    public HttpTaskServer(TaskManager manager, int port, int backlog, ExecutorService executor)
+            throws IOException {
+        this(manager, port, backlog, executor, false);
+    }
+
+    private HttpTaskServer(TaskManager manager, int port, int backlog, ExecutorService executor,
+                           boolean ownsExecutor) throws IOException {
+        if (executor != null && !(manager instanceof ConcurrentTaskManager)) {
+            manager = Managers.getConcurrent(manager);
+        }
         this.manager = manager;
-        this.httpServer = HttpServer.create(new InetSocketAddress(PORT), 0);
+        this.executor = executor;
+        this.ownsExecutor = ownsExecutor;
+        this.httpServer = HttpServer.create(new InetSocketAddress(port), backlog);
+        this.httpServer.setExecutor(executor);
     }
 
     public void start() throws IOException {
+        Utils.warmUpGson();
         httpServer.createContext("/history", new HistoryHandler(manager));
         httpServer.createContext("/prioritized", new PrioritizedHandler(manager));
         httpServer.createContext("/tasks", new TasksHandler(manager));
@@ -34,5 +64,8 @@ public class HttpTaskServer {
 
     public void stop() {
         httpServer.stop(0);
+        if (ownsExecutor) {
+            executor.shutdown();
+        }
     }
 }
\ No newline at end of file
@@ -1,23 +1,67 @@
 package manager;
 
 import manager.file.FileBackedTaskManager;
+import manager.history.ConcurrentHistoryManager;
 import manager.history.HistoryManager;
 import manager.history.InMemoryHistoryManager;
+import manager.task.CompactTaskManager;
+import manager.task.ConcurrentTaskManager;
 import manager.task.InMemoryTaskManager;
 import manager.task.TaskManager;
+import model.Durability;
+import model.SaveMode;
 
 import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 public class Managers {
     public static TaskManager getDefault() {
         return new InMemoryTaskManager(getDefaultHistory());
     }
 
+    public static TaskManager getCompact() {
+        return new CompactTaskManager(getDefaultHistory());
+    }
+
+    public static TaskManager getConcurrent() {
+        return new ConcurrentTaskManager(new InMemoryTaskManager(getConcurrentHistory()), true);
+    }
+
+    public static TaskManager getConcurrent(TaskManager manager) {
+        return new ConcurrentTaskManager(manager);
+    }
+
     public static HistoryManager getDefaultHistory() {
         return new InMemoryHistoryManager();
     }
 
+    public static HistoryManager getDefaultHistory(int capacity) {
+        return new InMemoryHistoryManager(capacity);
+    }
+
+    public static HistoryManager getConcurrentHistory() {
+        return new ConcurrentHistoryManager(getDefaultHistory());
+    }
+
     public static FileBackedTaskManager getFileBackedTaskManager(Path path) {
         return FileBackedTaskManager.loadFromFile(path);
     }
+
+    public static FileBackedTaskManager getFileBackedTaskManager(Path path, SaveMode saveMode) {
+        return FileBackedTaskManager.loadFromFile(path, saveMode);
+    }
+
+    public static FileBackedTaskManager getFileBackedTaskManager(Path path, SaveMode saveMode,
+                                                                 Durability durability) {
+        return FileBackedTaskManager.loadFromFile(path, saveMode, durability);
+    }
+
+    public static ExecutorService getVirtualThreadExecutor() {
+        return Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    public static ExecutorService getFixedThreadPool(int threads) {
+        return Executors.newFixedThreadPool(threads);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,224 @@
+package manager.file;
+
+import exception.ManagerIOException;
+import model.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+public class BinarySnapshot {
+    private static final int MAGIC = 0x4B414E42;
+    private static final int VERSION = 2;
+    private static final int HEADER_SIZE = 16;
+    private static final int RECORD_SIZE = 62;
+    private static final long NO_TIME = Long.MIN_VALUE;
+    private static final Type[] TYPES = Type.values();
+    private static final Status[] STATUSES = Status.values();
+
+    private final MappedByteBuffer buffer;
+    private final int count;
+    private final int nextId;
+    private final int heapOffset;
+
+    private BinarySnapshot(MappedByteBuffer buffer) {
+        this.buffer = buffer;
+        this.count = buffer.getInt(8);
+        this.nextId = buffer.getInt(12);
+        this.heapOffset = HEADER_SIZE + count * RECORD_SIZE;
+    }
+
+    public static boolean isBinary(Path path) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(4);
+            return channel.read(header, 0) == 4 && header.getInt(0) == MAGIC;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    public static BinarySnapshot open(Path path) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+                throw new ManagerIOException(path);
+            }
+            // The records must fit in the file, so a corrupt count cannot point reads past its end.
+            int count = buffer.getInt(8);
+            if (count < 0 || HEADER_SIZE + (long) count * RECORD_SIZE > buffer.capacity()) {
+                throw new ManagerIOException(path);
+            }
+            return new BinarySnapshot(buffer);
+        } catch (IOException e) {
+            throw new ManagerIOException(path);
+        }
+    }
+
+    public static void write(Path target, Collection<Task> tasks, Collection<Epic> epics,
+                             Collection<Subtask> subTasks, int nextId, boolean sync) {
+        write(target, tasks, epics, subTasks, nextId, sync, null);
+    }
+
+    static void write(Path target, Collection<Task> tasks, Collection<Epic> epics, Collection<Subtask> subTasks,
+                      int nextId, boolean sync, LazyBodies bodies) {
+        int count = tasks.size() + epics.size() + subTasks.size();
+        ByteBuffer records = ByteBuffer.allocate(Math.addExact(HEADER_SIZE, Math.multiplyExact(count, RECORD_SIZE)));
+        records.putInt(MAGIC).putInt(VERSION).putInt(count).putInt(nextId);
+
+        StringHeap heap = new StringHeap();
+        for (Task task : tasks) {
+            putRecord(records, heap, bodies, task, 0, null);
+        }
+        for (Epic epic : epics) {
+            putRecord(records, heap, bodies, epic, 0, epic.getEndTime());
+        }
+        for (Subtask subtask : subTasks) {
+            putRecord(records, heap, bodies, subtask, subtask.getEpicId(), subtask.getEndTime());
+        }
+        records.flip();
+
+        try (FileChannel channel = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer strings = ByteBuffer.wrap(heap.bytes.toByteArray());
+            while (records.hasRemaining() || strings.hasRemaining()) {
+                channel.write(new ByteBuffer[]{records, strings});
+            }
+            if (sync) {
+                channel.force(true);
+            }
+        } catch (IOException e) {
+            throw new ManagerIOException(target);
+        }
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public int getNextId() {
+        return nextId;
+    }
+
+    public Task read(int index) {
+        return read(index, true);
+    }
+
+    public Task read(int index, boolean withBody) {
+        int record = HEADER_SIZE + index * RECORD_SIZE;
+
+        Integer id = buffer.getInt(record);
+        Type type = TYPES[buffer.get(record + 4)];
+        byte statusOrdinal = buffer.get(record + 5);
+        Status status = statusOrdinal < 0 ? null : STATUSES[statusOrdinal];
+        int epicId = buffer.getInt(record + 6);
+        LocalDateTime startTime = getTime(record + 10);
+        Duration duration = Duration.ofMinutes(buffer.getLong(record + 22));
+        LocalDateTime endTime = getTime(record + 30);
+        String name = withBody ? getString(record + 42) : null;
+        String description = withBody ? getString(record + 50) : null;
+
+        Task task;
+        switch (type) {
+            case SUBTASK:
+                task = new Subtask(name, description, id, status, epicId, startTime, duration);
+                break;
+            case EPIC:
+                Epic epic = new Epic(name, description, id);
+                epic.setStatus(status);
+                epic.setStartTime(startTime);
+                epic.setDuration(duration);
+                epic.setEndTime(endTime);
+                task = epic;
+                break;
+            default:
+                task = new Task(name, description, id, status, startTime, duration);
+        }
+        task.setVersion(buffer.getInt(record + 58));
+        return task;
+    }
+
+    public int readId(int index) {
+        return buffer.getInt(HEADER_SIZE + index * RECORD_SIZE);
+    }
+
+    public String readName(int index) {
+        return getString(HEADER_SIZE + index * RECORD_SIZE + 42);
+    }
+
+    public String readDescription(int index) {
+        return getString(HEADER_SIZE + index * RECORD_SIZE + 50);
+    }
+
+    private static void putRecord(ByteBuffer records, StringHeap heap, LazyBodies bodies, Task task, int epicId,
+                                  LocalDateTime endTime) {
+        records.putInt(task.getId());
+        records.put((byte) task.getType().ordinal());
+        records.put(task.getStatus() == null ? -1 : (byte) task.getStatus().ordinal());
+        records.putInt(epicId);
+        putTime(records, task.getStartTime());
+        records.putLong(task.getDuration() == null ? 0 : task.getDuration().toMinutes());
+        putTime(records, endTime);
+        heap.put(records, bodies == null ? task.getName() : bodies.getName(task));
+        heap.put(records, bodies == null ? task.getDescription() : bodies.getDescription(task));
+        records.putInt(task.getVersion());
+    }
+
+    private static void putTime(ByteBuffer records, LocalDateTime time) {
+        if (time == null) {
+            records.putLong(NO_TIME).putInt(0);
+            return;
+        }
+        records.putLong(time.toEpochSecond(ZoneOffset.UTC)).putInt(time.getNano());
+    }
+
+    private LocalDateTime getTime(int position) {
+        long seconds = buffer.getLong(position);
+        if (seconds == NO_TIME) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(seconds, buffer.getInt(position + 8), ZoneOffset.UTC);
+    }
+
+    private String getString(int position) {
+        int length = buffer.getInt(position + 4);
+        if (length < 0) {
+            return null;
+        }
+
+        byte[] bytes = new byte[length];
+        buffer.get(heapOffset + buffer.getInt(position), bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static class StringHeap {
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private final Map<String, int[]> offsets = new HashMap<>();
+
+        private void put(ByteBuffer records, String value) {
+            if (value == null) {
+                records.putInt(0).putInt(-1);
+                return;
+            }
+
+            int[] location = offsets.get(value);
+            if (location == null) {
+                byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+                location = new int[]{bytes.size(), encoded.length};
+                bytes.writeBytes(encoded);
+                offsets.put(value, location);
+            }
+            records.putInt(location[0]).putInt(location[1]);
+        }
+    }
+}
\ No newline at end of file
@@ -3,175 +3,635 @@ package manager.file;
 import exception.ManagerIOException;
 import manager.Managers;
 import manager.history.HistoryManager;
+import manager.task.DeferredCommit;
 import manager.task.InMemoryTaskManager;
-import model.Epic;
-import model.Subtask;
-import model.Task;
-import model.Type;
+import model.*;
 
 import java.io.*;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+public class FileBackedTaskManager extends InMemoryTaskManager implements DeferredCommit {
+    private static final String HEADER = "id,type,name,status,description,epic,startTime,duration,endTime,version";
+    // Written as its own line after the tasks, so the id of a deleted last task is not given out again after loading.
+    private static final String NEXT_ID = "#nextId=";
+    private static final int COMPACTION_THRESHOLD = 10_000;
 
-public class FileBackedTaskManager extends InMemoryTaskManager {
     private final Path path;
+    private final Path journalPath;
+    private final SaveMode saveMode;
+    private final Durability durability;
+    private final JournalWriter journal;
+    private final ThreadLocal<Boolean> commitDeferred = new ThreadLocal<>();
+    private final ThreadLocal<CompletableFuture<Void>> pendingCommit = new ThreadLocal<>();
+    private final List<Path> staleSnapshots = new ArrayList<>();
+    private Path snapshotPath;
+    private long generation;
+    private int journalRecords;
+    private LazyBodies bodies;
 
     public FileBackedTaskManager(HistoryManager historyManager, Path path) {
-        super(historyManager);
-        this.path = path;
+        this(historyManager, path, SaveMode.SNAPSHOT);
     }
 
     public FileBackedTaskManager(Path path) {
-        super(Managers.getDefaultHistory());
+        this(Managers.getDefaultHistory(), path);
+    }
+
+    public FileBackedTaskManager(HistoryManager historyManager, Path path, SaveMode saveMode) {
+        this(historyManager, path, saveMode, Durability.NONE);
+    }
+
+    public FileBackedTaskManager(HistoryManager historyManager, Path path, SaveMode saveMode,
+                                 Durability durability) {
+        this(historyManager, path, saveMode, durability, 0);
+    }
+
+    public FileBackedTaskManager(HistoryManager historyManager, Path path, SaveMode saveMode,
+                                 Durability durability, long commitWindowMillis) {
+        super(historyManager);
         this.path = path;
+        this.journalPath = path.resolveSibling(path.getFileName() + ".log");
+        this.saveMode = saveMode;
+        this.durability = durability;
+        this.journal = new JournalWriter(journalPath, durability, commitWindowMillis);
+        findSnapshot();
     }
 
     public static FileBackedTaskManager loadFromFile(Path path) {
-        FileBackedTaskManager manager = new FileBackedTaskManager(path);
-        manager.loadDataFromFile();
+        return loadFromFile(path, SaveMode.SNAPSHOT);
+    }
+
+    public static FileBackedTaskManager loadFromFile(Path path, SaveMode saveMode) {
+        return loadFromFile(path, saveMode, Durability.NONE);
+    }
+
+    public static FileBackedTaskManager loadFromFile(Path path, SaveMode saveMode, Durability durability) {
+        return loadFromFile(path, saveMode, durability, LoadMode.EAGER);
+    }
+
+    public static FileBackedTaskManager loadFromFile(Path path, SaveMode saveMode, Durability durability,
+                                                     LoadMode loadMode) {
+        FileBackedTaskManager manager = new FileBackedTaskManager(Managers.getDefaultHistory(), path, saveMode,
+                durability);
+        manager.loadDataFromFile(loadMode);
         return manager;
     }
 
+    public void close() {
+        journal.close();
+    }
+
+    @Override
+    public void deferCommit() {
+        commitDeferred.set(true);
+    }
+
+    @Override
+    public void awaitCommit() {
+        commitDeferred.remove();
+        CompletableFuture<Void> commit = pendingCommit.get();
+        if (commit != null) {
+            pendingCommit.remove();
+            journal.await(commit);
+        }
+    }
+
+    // Records are built only in journal mode, a snapshot save does not use them.
+    private void save(Supplier<String[]> records) {
+        if (saveMode == SaveMode.SNAPSHOT) {
+            save();
+            return;
+        }
+
+        String[] appended = records.get();
+        CompletableFuture<Void> commit = journal.append(appended);
+        if (durability == Durability.SYNC) {
+            if (commitDeferred.get() != null) {
+                pendingCommit.set(commit);
+            } else {
+                journal.await(commit);
+            }
+        }
+        journalRecords += appended.length;
+        if (journalRecords >= COMPACTION_THRESHOLD) {
+            compact();
+        }
+    }
+
     private void save() {
-        try (final BufferedWriter writer = new BufferedWriter(new FileWriter(String.valueOf(path)))) {
-            writer.append("id,type,name,status,description,epic,startTime,duration,endTime");
+        writeSnapshot(snapshotPath);
+    }
+
+    // The current snapshot may still be memory-mapped, and a mapped file cannot be replaced on every platform, so
+    // each compaction writes the next generation: path.1, path.2 and so on. Loading reads the latest generation, or
+    // the path itself before the first compaction. Older generations are deleted once they are no longer mapped.
+    private void compact() {
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        Path next = path.resolveSibling(path.getFileName() + "." + (generation + 1));
+        writeSnapshot(tmp);
+        try {
+            Files.move(tmp, next, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new ManagerIOException(next);
+        }
+        journal.delete();
+        journalRecords = 0;
+
+        staleSnapshots.add(snapshotPath);
+        snapshotPath = next;
+        generation++;
+        if (bodies != null) {
+            bodies.remap(BinarySnapshot.open(snapshotPath), bodies::isLazy);
+        }
+        staleSnapshots.removeIf(FileBackedTaskManager::deleteSnapshot);
+    }
+
+    private static boolean deleteSnapshot(Path snapshot) {
+        try {
+            Files.deleteIfExists(snapshot);
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private void findSnapshot() {
+        snapshotPath = path;
+        generation = 0;
+        Path directory = path.toAbsolutePath().getParent();
+        if (directory == null || !Files.isDirectory(directory)) {
+            return;
+        }
+
+        String prefix = path.getFileName() + ".";
+        List<Path> generations = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory,
+                file -> getGeneration(file.getFileName().toString(), prefix) > 0)) {
+            for (Path file : files) {
+                Path snapshot = path.resolveSibling(file.getFileName());
+                generations.add(snapshot);
+                long number = getGeneration(file.getFileName().toString(), prefix);
+                if (number > generation) {
+                    generation = number;
+                    snapshotPath = snapshot;
+                }
+            }
+        } catch (IOException e) {
+            throw new ManagerIOException(path);
+        }
+
+        // Left over when a mapped generation could not be deleted, they are deleted at the next compaction.
+        if (generation > 0) {
+            generations.remove(snapshotPath);
+            generations.add(path);
+            staleSnapshots.addAll(generations);
+        }
+    }
+
+    private static long getGeneration(String fileName, String prefix) {
+        if (!fileName.startsWith(prefix) || fileName.length() == prefix.length()
+                || !fileName.chars().skip(prefix.length()).allMatch(c -> c >= '0' && c <= '9')) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(fileName.substring(prefix.length()));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    Path getSnapshotPath() {
+        return snapshotPath;
+    }
+
+    public void exportToCsv(Path target) {
+        writeCsv(target);
+    }
+
+    private void writeSnapshot(Path target) {
+        if (saveMode == SaveMode.SNAPSHOT) {
+            writeCsv(target);
+            return;
+        }
+        BinarySnapshot.write(target, tasks.values(), epics.values(), subTasks.values(),
+                idGenerator.getHighWaterMark(), durability != Durability.NONE, bodies);
+    }
+
+    private void writeCsv(Path target) {
+        try (final FileOutputStream out = new FileOutputStream(target.toFile());
+             final BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8))) {
+            writer.append(HEADER);
             writer.newLine();
-            for (Map.Entry<Integer, Task> entry : tasks.entrySet()) {
-                writer.append(TaskConverter.toString(entry.getValue()));
+            for (Task task : tasks.sortedValues()) {
+                writer.append(TaskConverter.toString(loadBody(task)));
                 writer.newLine();
             }
 
-            for (Map.Entry<Integer, Epic> entry : epics.entrySet()) {
-                writer.append(TaskConverter.toString(entry.getValue()));
+            for (Epic epic : epics.sortedValues()) {
+                writer.append(TaskConverter.toString(loadBody(epic)));
                 writer.newLine();
             }
 
-            for (Map.Entry<Integer, Subtask> entry : subTasks.entrySet()) {
-                writer.append(TaskConverter.toString(entry.getValue()));
+            for (Subtask subtask : subTasks.sortedValues()) {
+                writer.append(TaskConverter.toString(loadBody(subtask)));
                 writer.newLine();
             }
+
+            writer.append(NEXT_ID).append(String.valueOf(idGenerator.getHighWaterMark()));
+            writer.newLine();
+            writer.flush();
+            if (durability != Durability.NONE) {
+                out.getFD().sync();
+            }
         } catch (IOException e) {
-            throw new ManagerIOException(path);
+            throw new ManagerIOException(target);
         }
     }
 
-
-    private void loadDataFromFile() {
+    private void loadDataFromFile(LoadMode loadMode) {
+        final Map<Integer, Task> loaded = new LinkedHashMap<>();
+        final Set<Integer> replayed = new HashSet<>();
+        BinarySnapshot snapshot = null;
         int maxId = 0;
-        try (final BufferedReader reader = new BufferedReader(new FileReader(path.toFile(), StandardCharsets.UTF_8))) {
-            reader.readLine();
-            while (true) {
-                String line = reader.readLine();
-                try {
-                    Task task = TaskConverter.fromString(line);
-                    final int id = task.getId();
-                    if (task.getType() == Type.TASK) {
-                        tasks.put(id, task);
-                    } else if (task.getType() == Type.EPIC) {
-                        epics.put(id, (Epic) task);
-                    } else {
-                        subTasks.put(id, (Subtask) task);
-                        addSubTask((Subtask) task);
-                    }
 
-                    if (!(task.getStartTime() == null)) {
-                        sortedTasks.add(task);
+        if (BinarySnapshot.isBinary(snapshotPath)) {
+            snapshot = BinarySnapshot.open(snapshotPath);
+            for (int i = 0; i < snapshot.getCount(); i++) {
+                Task task = snapshot.read(i, loadMode == LoadMode.EAGER);
+                loaded.put(task.getId(), task);
+            }
+            maxId = snapshot.getNextId() - 1;
+        } else if (Files.exists(snapshotPath) || Files.notExists(journalPath)) {
+            try (final BufferedReader reader = new BufferedReader(new FileReader(snapshotPath.toFile(),
+                    StandardCharsets.UTF_8))) {
+                reader.readLine();
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.isEmpty()) {
+                        continue;
                     }
-
-                    if (maxId < id) {
-                        maxId = id;
+                    if (line.startsWith(NEXT_ID)) {
+                        maxId = Math.max(maxId, getNextId(line) - 1);
+                        continue;
                     }
-                    if (line.isEmpty()) {
-                        break;
+                    Task task = TaskConverter.fromString(line);
+                    loaded.put(task.getId(), task);
+                    maxId = Math.max(maxId, task.getId());
+                }
+            } catch (IOException e) {
+                throw new ManagerIOException(snapshotPath);
+            }
+        }
+
+        if (Files.exists(journalPath)) {
+            maxId = Math.max(maxId, replayJournal(loaded, replayed));
+        }
+
+        for (Type type : new Type[]{Type.TASK, Type.EPIC, Type.SUBTASK}) {
+            for (Task task : loaded.values()) {
+                if (task.getType() == type) {
+                    addLoadedTask(task);
+                }
+            }
+        }
+
+        for (Epic epic : epics.values()) {
+            int version = epic.getVersion();
+            updateEpicFields(epic);
+            epic.setVersion(version);
+        }
+        idGenerator.advanceTo(maxId + 1);
+
+        if (snapshot != null && loadMode == LoadMode.LAZY) {
+            bodies = new LazyBodies(snapshot, id -> loaded.containsKey(id) && !replayed.contains(id));
+        }
+
+        if (journalRecords > 0) {
+            compact();
+        }
+    }
+
+    private int replayJournal(Map<Integer, Task> loaded, Set<Integer> replayed) {
+        int maxId = 0;
+        try (final Reader reader = new BufferedReader(new InputStreamReader(Files.newInputStream(journalPath),
+                StandardCharsets.UTF_8))) {
+            StringBuilder line = new StringBuilder();
+            int next;
+            while ((next = reader.read()) != -1) {
+                if (next != '\n') {
+                    line.append((char) next);
+                    continue;
+                }
+
+                journalRecords++;
+                // A complete record that does not parse means the journal is corrupt. Loading stops here,
+                // so the journal is not compacted away together with the records after it.
+                try {
+                    String[] record = line.toString().split(",", 2);
+                    line.setLength(0);
+                    switch (record[0]) {
+                        case "PUT":
+                            Task task = TaskConverter.fromString(record[1]);
+                            loaded.put(task.getId(), task);
+                            replayed.add(task.getId());
+                            maxId = Math.max(maxId, task.getId());
+                            break;
+                        case "DELETE":
+                            loaded.remove(Integer.parseInt(record[1]));
+                            break;
+                        case "CLEAR":
+                            Type type = Type.valueOf(record[1]);
+                            loaded.values().removeIf(loadedTask -> loadedTask.getType() == type);
+                            break;
+                        default:
+                            throw new IllegalArgumentException(record[0]);
                     }
-                } catch (NullPointerException e) {
-                    return;
+                } catch (RuntimeException e) {
+                    throw new ManagerIOException(journalPath, e);
                 }
             }
+
+            // A record without its newline was cut off mid-write and is dropped. Counting it still
+            // compacts the journal on load, so new records are not appended after the torn bytes.
+            if (line.length() > 0) {
+                journalRecords++;
+            }
         } catch (IOException e) {
-            throw new ManagerIOException(path);
+            throw new ManagerIOException(journalPath);
+        }
+        return maxId;
+    }
+
+    private static int getNextId(String line) {
+        try {
+            return Integer.parseInt(line.substring(NEXT_ID.length()));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private void addLoadedTask(Task task) {
+        final int id = task.getId();
+        if (task.getVersion() == 0) {
+            task.setVersion(1);
+        }
+        if (task.getType() == Type.TASK) {
+            tasks.put(id, task);
+        } else if (task.getType() == Type.EPIC) {
+            epics.put(id, (Epic) task);
+        } else {
+            subTasks.put(id, (Subtask) task);
+            addSubTask((Subtask) task);
+        }
+
+        if (!(task.getStartTime() == null)) {
+            sortedTasks.add(task);
+        }
+    }
+
+    @Override
+    protected <T extends Task> T loadBody(T task) {
+        return bodies == null ? task : bodies.load(task);
+    }
+
+    private <T extends Task> List<T> loadBodies(List<T> tasks) {
+        if (bodies != null) {
+            for (T task : tasks) {
+                bodies.load(task);
+            }
+        }
+        return tasks;
+    }
+
+    private void markLoaded(int id) {
+        if (bodies != null) {
+            bodies.markLoaded(id);
         }
+    }
+
+    private static String put(Task task) {
+        return "PUT," + TaskConverter.toString(task);
+    }
+
+    private static String put(Subtask subtask) {
+        return "PUT," + TaskConverter.toString(subtask);
+    }
+
+    private static String put(Epic epic) {
+        return "PUT," + TaskConverter.toString(epic);
+    }
+
+    // Subtask changes bump the epic version, so the epic is journaled with them to keep its ETag across restarts.
+    private String putEpic(int epicId) {
+        return put(loadBody(epics.get(epicId)));
+    }
+
+    private static String[] records(String... records) {
+        return records;
+    }
 
-        seq = maxId;
+    private static String delete(int id) {
+        return "DELETE," + id;
+    }
+
+    private static String clear(Type type) {
+        return "CLEAR," + type;
+    }
+
+    @Override
+    public Task getTask(int id) {
+        return loadBody(super.getTask(id));
+    }
+
+    @Override
+    public Subtask getSubTask(int id) {
+        return loadBody(super.getSubTask(id));
+    }
+
+    @Override
+    public List<Subtask> getEpicSubTasks(Epic epic) {
+        return loadBodies(super.getEpicSubTasks(epic));
+    }
+
+    @Override
+    public List<Task> getPrioritizedTasks(LocalDateTime from, LocalDateTime to) {
+        return loadBodies(super.getPrioritizedTasks(from, to));
     }
 
     @Override
     public void removeAllTasks() {
         super.removeAllTasks();
-        save();
+        save(() -> records(clear(Type.TASK)));
     }
 
     @Override
     public void removeAllSubTasks() {
         super.removeAllSubTasks();
-        save();
+
+        save(() -> {
+            List<String> records = new ArrayList<>();
+            records.add(clear(Type.SUBTASK));
+            for (Epic epic : epics.values()) {
+                records.add(put(loadBody(epic)));
+            }
+            return records.toArray(new String[0]);
+        });
     }
 
     @Override
     public void removeAllEpics() {
         super.removeAllEpics();
-        save();
+        save(() -> records(clear(Type.SUBTASK), clear(Type.EPIC)));
     }
 
     @Override
     public Task createTask(Task task) {
-        task = super.createTask(task);
-        save();
+        Task created = super.createTask(task);
+        save(() -> records(put(created)));
 
-        return task;
+        return created;
     }
 
     @Override
     public Subtask createSubTask(Subtask subtask) {
-        subtask = super.createSubTask(subtask);
-        save();
+        Subtask created = super.createSubTask(subtask);
+        save(() -> records(put(created), putEpic(created.getEpicId())));
 
-        return subtask;
+        return created;
     }
 
     @Override
     public Epic createEpic(Epic epic) {
-        epic = super.createEpic(epic);
-        save();
+        Epic created = super.createEpic(epic);
+        save(() -> records(put(created)));
 
-        return epic;
+        return created;
+    }
+
+    @Override
+    public List<Task> applyBatch(TaskBatch batch) {
+        List<Task> created = super.applyBatch(batch);
+
+        for (Task task : batch.getUpdate()) {
+            markLoaded(task.getId());
+        }
+        if (batch.getDelete().isEmpty() && batch.getUpdate().isEmpty() && created.isEmpty()) {
+            return created;
+        }
+        save(() -> {
+            List<String> records = new ArrayList<>();
+            for (int id : batch.getDelete()) {
+                records.add(delete(id));
+            }
+            for (Task task : batch.getUpdate()) {
+                records.add(put(task));
+            }
+            for (Task task : created) {
+                records.add(put(task));
+            }
+            return records.toArray(new String[0]);
+        });
+        return created;
     }
 
     @Override
     public void updateTask(Task task) {
         super.updateTask(task);
-        save();
+        saveTask(task);
+    }
+
+    @Override
+    public void updateTask(Task task, int expectedVersion) {
+        super.updateTask(task, expectedVersion);
+        saveTask(task);
     }
 
     @Override
     public void updateSubTask(Subtask subtask) {
+        Subtask original = subTasks.get(subtask.getId());
         super.updateSubTask(subtask);
-        save();
+        saveSubTask(subtask, original);
+    }
+
+    @Override
+    public void updateSubTask(Subtask subtask, int expectedVersion) {
+        Subtask original = subTasks.get(subtask.getId());
+        super.updateSubTask(subtask, expectedVersion);
+        saveSubTask(subtask, original);
     }
 
     @Override
     public void updateEpic(Epic epic) {
         super.updateEpic(epic);
-        save();
+        saveEpic(epic);
+    }
+
+    @Override
+    public void updateEpic(Epic epic, int expectedVersion) {
+        super.updateEpic(epic, expectedVersion);
+        saveEpic(epic);
+    }
+
+    private void saveTask(Task task) {
+        markLoaded(task.getId());
+        save(() -> records(put(task)));
+    }
+
+    private void saveSubTask(Subtask subtask, Subtask original) {
+        markLoaded(subtask.getId());
+
+        if (!original.getEpicId().equals(subtask.getEpicId())) {
+            save(() -> records(put(subtask), putEpic(original.getEpicId()), putEpic(subtask.getEpicId())));
+            return;
+        }
+        save(() -> records(put(subtask), putEpic(subtask.getEpicId())));
+    }
+
+    private void saveEpic(Epic epic) {
+        markLoaded(epic.getId());
+        save(() -> records(put(epics.get(epic.getId()))));
     }
 
     @Override
     public void deleteTask(int id) {
         super.deleteTask(id);
-        save();
+        save(() -> records(delete(id)));
     }
 
     @Override
     public void deleteEpic(int id) {
+        Epic epic = epics.get(id);
         super.deleteEpic(id);
-        save();
+
+        save(() -> {
+            int[] subTaskIds = epic.getSubTasks().toArray();
+            String[] records = new String[subTaskIds.length + 1];
+            for (int i = 0; i < subTaskIds.length; i++) {
+                records[i] = delete(subTaskIds[i]);
+            }
+            records[subTaskIds.length] = delete(id);
+            return records;
+        });
     }
 
     @Override
     public void deleteSubTask(int id) {
+        Subtask subtask = subTasks.get(id);
         super.deleteSubTask(id);
-        save();
+        save(() -> records(delete(id), putEpic(subtask.getEpicId())));
     }
 
 }
\ No newline at end of file
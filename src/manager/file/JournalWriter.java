@@ -0,0 +1,203 @@
+package manager.file;
+
+import exception.ManagerIOException;
+import model.Durability;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+class JournalWriter {
+    private final Path path;
+    private final Durability durability;
+    private final long commitWindowNanos;
+    private final BlockingQueue<Batch> queue = new LinkedBlockingQueue<>();
+    private FileChannel channel;
+    private Thread committer;
+    private volatile RuntimeException failure;
+
+    JournalWriter(Path path, Durability durability, long commitWindowMillis) {
+        this.path = path;
+        this.durability = durability;
+        this.commitWindowNanos = TimeUnit.MILLISECONDS.toNanos(commitWindowMillis);
+    }
+
+    CompletableFuture<Void> append(String... records) {
+        if (failure != null) {
+            throw failure;
+        }
+
+        StringBuilder builder = new StringBuilder();
+        for (String record : records) {
+            builder.append(record).append('\n');
+        }
+        byte[] data = builder.toString().getBytes(StandardCharsets.UTF_8);
+
+        if (durability == Durability.NONE) {
+            write(data, false);
+            return CompletableFuture.completedFuture(null);
+        }
+        return enqueue(data);
+    }
+
+    void flush() {
+        if (durability != Durability.NONE) {
+            await(enqueue(new byte[0]));
+        }
+    }
+
+    void delete() {
+        flush();
+        synchronized (this) {
+            closeChannel();
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException e) {
+                throw new ManagerIOException(path);
+            }
+        }
+    }
+
+    void close() {
+        flush();
+        synchronized (this) {
+            closeChannel();
+            if (committer != null) {
+                committer.interrupt();
+                committer = null;
+            }
+        }
+    }
+
+    private synchronized CompletableFuture<Void> enqueue(byte[] data) {
+        if (committer == null) {
+            committer = new Thread(this::commitLoop, "journal-committer-" + path.getFileName());
+            committer.setDaemon(true);
+            committer.start();
+        }
+
+        Batch batch = new Batch(data);
+        queue.add(batch);
+        return batch.commit;
+    }
+
+    private void commitLoop() {
+        List<Batch> group = new ArrayList<>();
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                group.add(queue.take());
+                long deadline = System.nanoTime() + commitWindowNanos;
+                queue.drainTo(group);
+                for (long left = commitWindowNanos; left > 0; left = deadline - System.nanoTime()) {
+                    Batch batch = queue.poll(left, TimeUnit.NANOSECONDS);
+                    if (batch == null) {
+                        break;
+                    }
+                    group.add(batch);
+                    queue.drainTo(group);
+                }
+
+                commit(group);
+                group.clear();
+            }
+        } catch (InterruptedException e) {
+            commit(group);
+        }
+    }
+
+    private void commit(List<Batch> group) {
+        try {
+            if (failure != null) {
+                throw failure;
+            }
+
+            int size = 0;
+            for (Batch batch : group) {
+                size += batch.data.length;
+            }
+
+            ByteBuffer buffer = ByteBuffer.allocate(size);
+            for (Batch batch : group) {
+                buffer.put(batch.data);
+            }
+
+            write(buffer.array(), true);
+            for (Batch batch : group) {
+                batch.commit.complete(null);
+            }
+        } catch (Throwable e) {
+            if (failure == null) {
+                failure = e instanceof ManagerIOException ? (ManagerIOException) e : new ManagerIOException(path, e);
+            }
+            for (Batch batch : group) {
+                batch.commit.completeExceptionally(failure);
+            }
+        }
+    }
+
+    private synchronized void write(byte[] data, boolean force) {
+        if (data.length == 0) {
+            return;
+        }
+
+        try {
+            if (channel == null) {
+                channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                        StandardOpenOption.APPEND);
+            }
+
+            ByteBuffer buffer = ByteBuffer.wrap(data);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+
+            if (force) {
+                channel.force(false);
+            }
+        } catch (IOException e) {
+            throw new ManagerIOException(path);
+        }
+    }
+
+    private void closeChannel() {
+        try {
+            if (channel != null) {
+                channel.close();
+                channel = null;
+            }
+        } catch (IOException e) {
+            throw new ManagerIOException(path);
+        }
+    }
+
+    void await(CompletableFuture<Void> commit) {
+        try {
+            commit.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new ManagerIOException(path, e.getCause());
+        }
+    }
+
+    private static class Batch {
+        private final byte[] data;
+        private final CompletableFuture<Void> commit = new CompletableFuture<>();
+
+        private Batch(byte[] data) {
+            this.data = data;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,75 @@
+package manager.file;
+
+import model.Task;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.function.IntPredicate;
+
+class LazyBodies {
+    private BinarySnapshot snapshot;
+    private int[] ids;
+    private int[] records;
+    private BitSet loaded;
+
+    LazyBodies(BinarySnapshot snapshot, IntPredicate isLazy) {
+        remap(snapshot, isLazy);
+    }
+
+    synchronized void remap(BinarySnapshot snapshot, IntPredicate isLazy) {
+        long[] entries = new long[snapshot.getCount()];
+        int size = 0;
+        for (int i = 0; i < snapshot.getCount(); i++) {
+            int id = snapshot.readId(i);
+            if (isLazy.test(id)) {
+                entries[size++] = ((long) id << 32) | i;
+            }
+        }
+        Arrays.sort(entries, 0, size);
+
+        this.snapshot = snapshot;
+        this.ids = new int[size];
+        this.records = new int[size];
+        this.loaded = new BitSet(size);
+        for (int i = 0; i < size; i++) {
+            ids[i] = (int) (entries[i] >>> 32);
+            records[i] = (int) entries[i];
+        }
+    }
+
+    synchronized boolean isLazy(int id) {
+        return indexOf(id) >= 0;
+    }
+
+    synchronized <T extends Task> T load(T task) {
+        int index = indexOf(task.getId());
+        if (index >= 0) {
+            task.setName(snapshot.readName(records[index]));
+            task.setDescription(snapshot.readDescription(records[index]));
+            loaded.set(index);
+        }
+        return task;
+    }
+
+    synchronized void markLoaded(int id) {
+        int index = indexOf(id);
+        if (index >= 0) {
+            loaded.set(index);
+        }
+    }
+
+    synchronized String getName(Task task) {
+        int index = indexOf(task.getId());
+        return index >= 0 ? snapshot.readName(records[index]) : task.getName();
+    }
+
+    synchronized String getDescription(Task task) {
+        int index = indexOf(task.getId());
+        return index >= 0 ? snapshot.readDescription(records[index]) : task.getDescription();
+    }
+
+    private int indexOf(int id) {
+        int index = Arrays.binarySearch(ids, id);
+        return index >= 0 && !loaded.get(index) ? index : -1;
+    }
+}
\ No newline at end of file
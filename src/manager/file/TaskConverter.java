@@ -8,32 +8,34 @@ import java.time.LocalDateTime;
 public class TaskConverter {
     public static String toString(Task task) {
         if (task.getStartTime() != null) {
-            return "%d,%s,%s,%s,%s,null,%s,%d,%s".formatted(task.getId(), task.getType(), task.getName(),
-                    task.getStatus(), task.getDescription(), task.getStartTime(), task.getDuration().toMinutes(),
-                    task.getEndTime());
+            return "%d,%s,%s,%s,%s,null,%s,%d,%s,%d".formatted(task.getId(), task.getType(), escape(task.getName()),
+                    task.getStatus(), escape(task.getDescription()), task.getStartTime(),
+                    task.getDuration().toMinutes(), task.getEndTime(), task.getVersion());
         }
-        return "%d,%s,%s,%s,%s,null,null,%d,null".formatted(task.getId(), task.getType(), task.getName(),
-                task.getStatus(), task.getDescription(), task.getDuration().toMinutes());
+        return "%d,%s,%s,%s,%s,null,null,%d,null,%d".formatted(task.getId(), task.getType(), escape(task.getName()),
+                task.getStatus(), escape(task.getDescription()), task.getDuration().toMinutes(), task.getVersion());
     }
 
     public static String toString(Subtask subtask) {
         if (subtask.getStartTime() != null) {
-            return "%d,%s,%s,%s,%s,%d,%s,%d,%s".formatted(subtask.getId(), subtask.getType(), subtask.getName(),
-                    subtask.getStatus(), subtask.getDescription(), subtask.getEpicId(),
-                    subtask.getStartTime(), subtask.getDuration().toMinutes(), subtask.getEndTime());
+            return "%d,%s,%s,%s,%s,%d,%s,%d,%s,%d".formatted(subtask.getId(), subtask.getType(),
+                    escape(subtask.getName()), subtask.getStatus(), escape(subtask.getDescription()),
+                    subtask.getEpicId(), subtask.getStartTime(), subtask.getDuration().toMinutes(),
+                    subtask.getEndTime(), subtask.getVersion());
         }
-        return "%d,%s,%s,%s,%s,%d,null,%d,null".formatted(subtask.getId(), subtask.getType(), subtask.getName(),
-                subtask.getStatus(), subtask.getDescription(), subtask.getEpicId(), subtask.getDuration().toMinutes());
+        return "%d,%s,%s,%s,%s,%d,null,%d,null,%d".formatted(subtask.getId(), subtask.getType(),
+                escape(subtask.getName()), subtask.getStatus(), escape(subtask.getDescription()),
+                subtask.getEpicId(), subtask.getDuration().toMinutes(), subtask.getVersion());
     }
 
     public static String toString(Epic epic) {
         if (epic.getStartTime() != null) {
-            return "%d,%s,%s,%s,%s,null,%s,%s,%s".formatted(epic.getId(), epic.getType(), epic.getName(),
-                    epic.getStatus(), epic.getDescription(), epic.getStartTime(), epic.getDuration().toMinutes(),
-                    epic.getEndTime());
+            return "%d,%s,%s,%s,%s,null,%s,%s,%s,%d".formatted(epic.getId(), epic.getType(), escape(epic.getName()),
+                    epic.getStatus(), escape(epic.getDescription()), epic.getStartTime(),
+                    epic.getDuration().toMinutes(), epic.getEndTime(), epic.getVersion());
         }
-        return "%d,%s,%s,%s,%s,null,null,%d,null".formatted(epic.getId(), epic.getType(), epic.getName(),
-                epic.getStatus(), epic.getDescription(), epic.getDuration().toMinutes());
+        return "%d,%s,%s,%s,%s,null,null,%d,null,%d".formatted(epic.getId(), epic.getType(), escape(epic.getName()),
+                epic.getStatus(), escape(epic.getDescription()), epic.getDuration().toMinutes(), epic.getVersion());
     }
 
     public static Task fromString(String value) {
@@ -55,24 +57,44 @@ public class TaskConverter {
         }
 
         Integer id = Integer.parseInt(columns[0]);
-        String name = columns[2];
-        String description = columns[4];
+        String name = unescape(columns[2]);
+        String description = unescape(columns[4]);
         Status status = Status.valueOf(columns[3]);
         Duration duration = Duration.ofMinutes(Long.parseLong(columns[7]));
+        // Files written before the version column was added load with version 0.
+        int version = columns.length > 9 ? Integer.parseInt(columns[9]) : 0;
 
+        Task task;
         switch (type) {
-            case TASK:
-                return new Task(name, description, id, status, startTime, duration);
             case SUBTASK:
-                return new Subtask(name, description, id, status, epicId, startTime, duration);
+                task = new Subtask(name, description, id, status, epicId, startTime, duration);
+                break;
             case EPIC:
                 Epic epic = new Epic(name, description, id);
                 epic.setStatus(status);
                 epic.setStartTime(startTime);
                 epic.setDuration(duration);
                 epic.setEndTime(endTime);
-                return epic;
+                task = epic;
+                break;
+            default:
+                task = new Task(name, description, id, status, startTime, duration);
         }
-        return null;
+        task.setVersion(version);
+        return task;
+    }
+
+    private static String escape(String value) {
+        if (value == null) {
+            return null;
+        }
+        return value.replace("%", "%25").replace(",", "%2C").replace("\n", "%0A").replace("\r", "%0D");
+    }
+
+    private static String unescape(String value) {
+        if (value.indexOf('%') < 0) {
+            return value;
+        }
+        return value.replace("%0D", "\r").replace("%0A", "\n").replace("%2C", ",").replace("%25", "%");
     }
 }
@@ -0,0 +1,79 @@
+package manager.history;
+
+import model.Task;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+public class ConcurrentHistoryManager implements HistoryManager {
+    private static final int DRAIN_THRESHOLD = 64;
+
+    private final HistoryManager history;
+    private final Queue<Task> buffer = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger buffered = new AtomicInteger();
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public ConcurrentHistoryManager() {
+        this(new InMemoryHistoryManager());
+    }
+
+    public ConcurrentHistoryManager(HistoryManager history) {
+        this.history = history;
+    }
+
+    @Override
+    public void add(Task task) {
+        buffer.add(task);
+        if (buffered.incrementAndGet() >= DRAIN_THRESHOLD && lock.tryLock()) {
+            try {
+                drain();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    @Override
+    public void remove(int id) {
+        lock.lock();
+        try {
+            drain();
+            history.remove(id);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public List<Task> getHistory() {
+        lock.lock();
+        try {
+            drain();
+            return history.getHistory();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public List<Task> getHistory(int limit) {
+        lock.lock();
+        try {
+            drain();
+            return history.getHistory(limit);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void drain() {
+        Task task;
+        while ((task = buffer.poll()) != null) {
+            buffered.decrementAndGet();
+            history.add(task);
+        }
+    }
+}
\ No newline at end of file
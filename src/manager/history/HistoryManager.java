@@ -8,6 +8,8 @@ public interface HistoryManager {
 
     List<Task> getHistory();
 
+    List<Task> getHistory(int limit);
+
     void add(Task task);
 
     void remove(int id);
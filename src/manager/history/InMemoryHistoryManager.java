@@ -1,29 +1,49 @@
 package manager.history;
 
 import model.Task;
+import util.IntMap;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Collections;
 import java.util.List;
-import java.util.Map;
 
 public class InMemoryHistoryManager implements HistoryManager {
-    private final Map<Integer, Node> history = new HashMap<>();
+    private static final int DEFAULT_CAPACITY = 1000;
+
+    private final IntMap<Node> history = new IntMap<>();
+    private final int capacity;
     private Node head;
     private Node tail;
+    private List<Task> snapshot;
+
+    public InMemoryHistoryManager() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public InMemoryHistoryManager(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Размер истории должен быть положительным");
+        }
+        this.capacity = capacity;
+    }
 
     @Override
     public void add(Task task) {
+        snapshot = null;
         if (history.containsKey(task.getId())) {
             Node node = history.get(task.getId());
             removeNode(node);
         }
         linkLast(task);
+        if (history.size() > capacity) {
+            removeNode(head);
+        }
     }
 
     @Override
     public void remove(int id) {
         if (history.containsKey(id)) {
+            snapshot = null;
             Node node = history.get(id);
             removeNode(node);
         }
@@ -31,7 +51,20 @@ public class InMemoryHistoryManager implements HistoryManager {
 
     @Override
     public List<Task> getHistory() {
-        return getTasks();
+        List<Task> tasks = snapshot;
+        if (tasks == null) {
+            tasks = Collections.unmodifiableList(getTasks(history.size()));
+            snapshot = tasks;
+        }
+        return tasks;
+    }
+
+    @Override
+    public List<Task> getHistory(int limit) {
+        if (limit >= history.size()) {
+            return getHistory();
+        }
+        return getTasks(Math.clamp(limit, 0, history.size()));
     }
 
     private void linkLast(Task task) {
@@ -68,9 +101,16 @@ public class InMemoryHistoryManager implements HistoryManager {
         history.remove(node.getData().getId());
     }
 
-    private List<Task> getTasks() {
-        List<Task> tasks = new ArrayList<>();
-        Node current = head;
+    private List<Task> getTasks(int limit) {
+        List<Task> tasks = new ArrayList<>(limit);
+        if (limit == 0) {
+            return tasks;
+        }
+
+        Node current = tail;
+        for (int i = 1; i < limit; i++) {
+            current = current.getPrev();
+        }
         while (current != null) {
             tasks.add(current.getData());
             current = current.getNext();
@@ -0,0 +1,921 @@
+package manager.task;
+
+import exception.NotFoundException;
+import exception.ValidationException;
+import exception.VersionConflictException;
+import manager.history.HistoryManager;
+import model.Epic;
+import model.Status;
+import model.Subtask;
+import model.Task;
+import model.TaskBatch;
+import model.TaskQuery;
+import model.Type;
+import util.IntLinkedSet;
+import util.IntList;
+import util.IntMap;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PrimitiveIterator;
+
+public class CompactTaskManager implements TaskManager {
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final long NO_TIME = Long.MIN_VALUE;
+    private static final Type[] TYPES = Type.values();
+    private static final Status[] STATUSES = Status.values();
+
+    private final HistoryManager historyManager;
+    private final IdGenerator idGenerator;
+    private final StringPool strings = new StringPool();
+    private final IntMap<IntLinkedSet> epicSubTasks = new IntMap<>();
+
+    private byte[] types = new byte[DEFAULT_CAPACITY];
+    private byte[] statuses = new byte[DEFAULT_CAPACITY];
+    private int[] epicIds = new int[DEFAULT_CAPACITY];
+    private long[] starts = new long[DEFAULT_CAPACITY];
+    private long[] durations = new long[DEFAULT_CAPACITY];
+    private int[] names = new int[DEFAULT_CAPACITY];
+    private int[] descriptions = new int[DEFAULT_CAPACITY];
+    private int[] versions = new int[DEFAULT_CAPACITY];
+
+    private long[] scheduleStarts = new long[DEFAULT_CAPACITY];
+    private int[] scheduleIds = new int[DEFAULT_CAPACITY];
+    private int scheduleSize;
+    private volatile long modifications;
+
+    public CompactTaskManager(HistoryManager historyManager) {
+        this(historyManager, new IdGenerator());
+    }
+
+    public CompactTaskManager(HistoryManager historyManager, IdGenerator idGenerator) {
+        this.historyManager = historyManager;
+        this.idGenerator = idGenerator;
+    }
+
+    @Override
+    public List<Task> getAllTasks() {
+        return materializeAll(Type.TASK);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Subtask> getAllSubtasks() {
+        return (List<Subtask>) (List<?>) materializeAll(Type.SUBTASK);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Epic> getAllEpics() {
+        return (List<Epic>) (List<?>) materializeAll(Type.EPIC);
+    }
+
+    @Override
+    public List<Task> findTasks(TaskQuery query) {
+        if (query.hasTimeRange()) {
+            return findScheduledTasks(query);
+        }
+
+        List<Task> found = new ArrayList<>();
+        int nextId = Math.min(idGenerator.getHighWaterMark(), types.length);
+        for (long cursor = Math.max(query.getCursor(), 0) + 1L; cursor < nextId && found.size() < query.getLimit();
+             cursor++) {
+            int id = (int) cursor;
+            if (types[id] == 0 || (query.getType() != null && getType(id) != query.getType())) {
+                continue;
+            }
+
+            Task task = materialize(id);
+            if (query.matches(task)) {
+                found.add(task);
+            }
+        }
+        return found;
+    }
+
+    // The page is read from the schedule, starting at the cursor and stopping at the limit. An epic is visited at the
+    // place of its earliest subtask, which is the first of its subtasks met on the way.
+    private List<Task> findScheduledTasks(TaskQuery query) {
+        LocalDateTime from = query.getFrom();
+        LocalDateTime to = query.getTo();
+        if (from != null && to != null && from.isAfter(to)) {
+            return List.of();
+        }
+
+        LocalDateTime start = query.getCursorTime();
+        if (start == null || (from != null && from.isAfter(start))) {
+            start = from;
+        }
+        int toIndex = to == null ? scheduleSize : lowerBound(toMinutes(to) + 1);
+        IntLinkedSet visitedEpics = new IntLinkedSet();
+        List<Task> found = new ArrayList<>();
+        for (int i = start == null ? 0 : lowerBound(toMinutes(start)); i < toIndex && found.size() < query.getLimit();
+             i++) {
+            int id = scheduleIds[i];
+            int epicId = getType(id) == Type.SUBTASK && visitedEpics.add(epicIds[id])
+                    && getEarliestStart(epicIds[id]) == starts[id] ? epicIds[id] : 0;
+            if (epicId == 0) {
+                addFound(found, id, query);
+            } else if (epicId < id) {
+                addFound(found, epicId, query);
+                addFound(found, id, query);
+            } else {
+                addFound(found, id, query);
+                addFound(found, epicId, query);
+            }
+        }
+        return found;
+    }
+
+    private void addFound(List<Task> found, int id, TaskQuery query) {
+        if (found.size() >= query.getLimit() || (query.getType() != null && getType(id) != query.getType())) {
+            return;
+        }
+
+        Task task = materialize(id);
+        if (query.isAfterCursor(task) && query.matches(task)) {
+            found.add(task);
+        }
+    }
+
+    private long getEarliestStart(int epicId) {
+        long start = Long.MAX_VALUE;
+        for (PrimitiveIterator.OfInt iterator = epicSubTasks.get(epicId).iterator(); iterator.hasNext(); ) {
+            int subTaskId = iterator.nextInt();
+            if (starts[subTaskId] != NO_TIME) {
+                start = Math.min(start, starts[subTaskId]);
+            }
+        }
+        return start;
+    }
+
+    @Override
+    public void removeAllTasks() {
+        try {
+            removeAll(Type.TASK);
+        } finally {
+            modified();
+        }
+    }
+
+    @Override
+    public void removeAllSubTasks() {
+        try {
+            removeAll(Type.SUBTASK);
+            for (IntLinkedSet subTaskIds : epicSubTasks.values()) {
+                subTaskIds.clear();
+            }
+            int nextId = Math.min(idGenerator.getHighWaterMark(), types.length);
+            for (int id = 1; id < nextId; id++) {
+                if (isStored(id, Type.EPIC)) {
+                    versions[id]++;
+                }
+            }
+        } finally {
+            modified();
+        }
+    }
+
+    @Override
+    public void removeAllEpics() {
+        try {
+            removeAll(Type.SUBTASK);
+            removeAll(Type.EPIC);
+            epicSubTasks.clear();
+        } finally {
+            modified();
+        }
+    }
+
+    @Override
+    public Task getTask(int id) {
+        if (!isStored(id, Type.TASK)) {
+            throw new NotFoundException("Не найдена задача");
+        }
+
+        Task task = materialize(id);
+        historyManager.add(task);
+        return task;
+    }
+
+    @Override
+    public Subtask getSubTask(int id) {
+        if (!isStored(id, Type.SUBTASK)) {
+            throw new NotFoundException("Не найдена подзадача");
+        }
+
+        Subtask subtask = (Subtask) materialize(id);
+        historyManager.add(subtask);
+        return subtask;
+    }
+
+    @Override
+    public Epic getEpic(int id) {
+        if (!isStored(id, Type.EPIC)) {
+            throw new NotFoundException("Не найден эпик");
+        }
+
+        Epic epic = (Epic) materialize(id);
+        historyManager.add(epic);
+        return epic;
+    }
+
+    @Override
+    public Task createTask(Task task) {
+        try {
+            task.setId(idGenerator.nextId());
+            task.setVersion(1);
+            checkTaskTime(task);
+
+            store(task, 0);
+            addToSchedule(task.getId());
+            return task;
+        } finally {
+            modified();
+        }
+    }
+
+    @Override
+    public Subtask createSubTask(Subtask subtask) {
+        try {
+            subtask.setId(idGenerator.nextId());
+            subtask.setVersion(1);
+            if (subtask.getEpicId() == null || !isStored(subtask.getEpicId(), Type.EPIC)) {
+                throw new NotFoundException("Эпик для подзадачи не найден");
+            }
+            checkTaskTime(subtask);
+
+            store(subtask, subtask.getEpicId());
+            addToSchedule(subtask.getId());
+            epicSubTasks.get(subtask.getEpicId()).add(subtask.getId());
+            versions[subtask.getEpicId()]++;
+            return subtask;
+        } finally {
+            modified();
+        }
+    }
+
+    @Override
+    public Epic createEpic(Epic epic) {
+        try {
+            epic.setId(idGenerator.nextId());
+            epic.setVersion(1);
+            store(epic, 0);
+            epicSubTasks.put(epic.getId(), new IntLinkedSet());
+            putEpicFields(epic, epic.getId());
+            return epic;
+        } finally {
+            modified();
+        }
+    }
+
+    @Override
+    public List<Task> applyBatch(TaskBatch batch) {
+        try {
+            IntLinkedSet replaced = new IntLinkedSet();
+            List<Task> timed = new ArrayList<>();
+            for (Integer id : batch.getDelete()) {
+                checkBatchTask(replaced, id);
+            }
+            for (Task task : batch.getUpdate()) {
+                checkBatchType(task);
+                checkBatchTask(replaced, task.getId());
+                addTimed(timed, task);
+            }
+            for (Task task : batch.getCreate()) {
+                checkBatchType(task);
+                addTimed(timed, task);
+            }
+            timed.sort(Comparator.comparing(Task::getStartTime));
+            checkBatchTime(batch, timed, replaced);
+
+            removeFromSchedule(replaced);
+            for (int id : batch.getDelete()) {
+                release(id);
+                historyManager.remove(id);
+            }
+            for (Task task : batch.getUpdate()) {
+                replace(task, 0);
+            }
+            for (Task task : batch.getCreate()) {
+                task.setId(idGenerator.nextId());
+                task.setVersion(1);
+                store(task, 0);
+            }
+            mergeIntoSchedule(timed);
+            return batch.getCreate();
+        } finally {
+            modified();
+        }
+    }
+
+    @Override
+    public void updateTask(Task task) {
+        replaceTask(task, null);
+    }
+
+    @Override
+    public void updateTask(Task task, int expectedVersion) {
+        replaceTask(task, expectedVersion);
+    }
+
+    private void replaceTask(Task task, Integer expectedVersion) {
+        try {
+            if (task.getId() == null || !isStored(task.getId(), Type.TASK)) {
+                throw new NotFoundException("Задача не найдена");
+            }
+            checkVersion(task.getId(), expectedVersion);
+            checkTaskTime(task);
+
+            removeFromSchedule(task.getId());
+            replace(task, 0);
+            addToSchedule(task.getId());
+        } finally {
+            modified();
+        }
+    }
+
+    @Override
+    public void updateSubTask(Subtask subtask) {
+        replaceSubTask(subtask, null);
+    }
+
+    @Override
+    public void updateSubTask(Subtask subtask, int expectedVersion) {
+        replaceSubTask(subtask, expectedVersion);
+    }
+
+    private void replaceSubTask(Subtask subtask, Integer expectedVersion) {
+        try {
+            if (subtask.getId() == null || !isStored(subtask.getId(), Type.SUBTASK)) {
+                throw new NotFoundException("Подзадача не найдена");
+            }
+
+            int id = subtask.getId();
+            int epicId = epicIds[id];
+            if (!isStored(epicId, Type.EPIC)) {
+                throw new NotFoundException("Эпик не найден");
+            }
+
+            if (subtask.getEpicId() == null || !isStored(subtask.getEpicId(), Type.EPIC)) {
+                throw new NotFoundException("Эпик для подзадачи не найден или не указан");
+            }
+            checkVersion(subtask.getId(), expectedVersion);
+            checkTaskTime(subtask);
+
+            removeFromSchedule(id);
+            replace(subtask, subtask.getEpicId());
+            addToSchedule(id);
+
+            if (epicId != subtask.getEpicId()) {
+                epicSubTasks.get(epicId).remove(id);
+                epicSubTasks.get(subtask.getEpicId()).add(id);
+                versions[subtask.getEpicId()]++;
+            }
+            versions[epicId]++;
+        } finally {
+            modified();
+        }
+    }
+
+    @Override
+    public void updateEpic(Epic epic) {
+        replaceEpic(epic, null);
+    }
+
+    @Override
+    public void updateEpic(Epic epic, int expectedVersion) {
+        replaceEpic(epic, expectedVersion);
+    }
+
+    private void replaceEpic(Epic epic, Integer expectedVersion) {
+        try {
+            if (epic.getId() == null || !isStored(epic.getId(), Type.EPIC)) {
+                throw new NotFoundException("Эпик не найден");
+            }
+
+            checkVersion(epic.getId(), expectedVersion);
+
+            int id = epic.getId();
+            int name = names[id];
+            int description = descriptions[id];
+            epic.setVersion(++versions[id]);
+            names[id] = strings.acquire(epic.getName());
+            descriptions[id] = strings.acquire(epic.getDescription());
+            strings.release(name);
+            strings.release(description);
+        } finally {
+            modified();
+        }
+    }
+
+    @Override
+    public void deleteTask(int id) {
+        try {
+            if (!isStored(id, Type.TASK)) {
+                throw new NotFoundException("Задача не найдена");
+            }
+
+            remove(id);
+        } finally {
+            modified();
+        }
+    }
+
+    @Override
+    public void deleteEpic(int id) {
+        try {
+            if (!isStored(id, Type.EPIC)) {
+                throw new NotFoundException("Эпик не найден");
+            }
+
+            IntLinkedSet removed = epicSubTasks.remove(id);
+            removed.add(id);
+            removeAll(removed);
+        } finally {
+            modified();
+        }
+    }
+
+    @Override
+    public void deleteSubTask(int id) {
+        try {
+            if (!isStored(id, Type.SUBTASK)) {
+                throw new NotFoundException("Подзадача не найдена");
+            }
+            if (!isStored(epicIds[id], Type.EPIC)) {
+                throw new NotFoundException("Эпик не найден");
+            }
+
+            epicSubTasks.get(epicIds[id]).remove(id);
+            versions[epicIds[id]]++;
+            remove(id);
+        } finally {
+            modified();
+        }
+    }
+
+    @Override
+    public List<Subtask> getEpicSubTasks(Epic epic) {
+        if (epic == null || epic.getId() == null || !isStored(epic.getId(), Type.EPIC)) {
+            throw new NotFoundException("Подзадачи для данного эпика не найдены");
+        }
+
+        IntLinkedSet subTaskIds = epicSubTasks.get(epic.getId());
+        List<Subtask> subtasks = new ArrayList<>(subTaskIds.size());
+        subTaskIds.forEach(subTaskId -> subtasks.add((Subtask) materialize(subTaskId)));
+        return subtasks;
+    }
+
+    @Override
+    public List<Task> getHistory() {
+        return materializeHistory(historyManager.getHistory());
+    }
+
+    @Override
+    public List<Task> getHistory(int limit) {
+        return materializeHistory(historyManager.getHistory(limit));
+    }
+
+    @Override
+    public List<Task> getPrioritizedTasks() {
+        return materializeSchedule(0, scheduleSize);
+    }
+
+    @Override
+    public List<Task> getPrioritizedTasks(LocalDateTime from, LocalDateTime to) {
+        if (from != null && to != null && from.isAfter(to)) {
+            return List.of();
+        }
+        int fromIndex = from == null ? 0 : lowerBound(toMinutes(from));
+        int toIndex = to == null ? scheduleSize : lowerBound(toMinutes(to));
+        if (fromIndex > 0 && getEnd(scheduleIds[fromIndex - 1]) > toMinutes(from)) {
+            fromIndex--;
+        }
+        return materializeSchedule(fromIndex, Math.max(fromIndex, toIndex));
+    }
+
+    @Override
+    public long getModificationCount() {
+        return modifications;
+    }
+
+    private void modified() {
+        modifications++;
+    }
+
+    private boolean isStored(int id, Type type) {
+        return id > 0 && id < types.length && types[id] == type.ordinal() + 1;
+    }
+
+    private Type getType(int id) {
+        return TYPES[types[id] - 1];
+    }
+
+    private void store(Task task, int epicId) {
+        int id = task.getId();
+        ensureCapacity(id);
+        types[id] = (byte) (task.getType().ordinal() + 1);
+        statuses[id] = task.getStatus() == null ? -1 : (byte) task.getStatus().ordinal();
+        epicIds[id] = epicId;
+        starts[id] = task.getStartTime() == null ? NO_TIME : toMinutes(task.getStartTime());
+        durations[id] = task.getDuration() == null ? 0 : task.getDuration().toMinutes();
+        names[id] = strings.acquire(task.getName());
+        descriptions[id] = strings.acquire(task.getDescription());
+        versions[id] = task.getVersion();
+    }
+
+    private void replace(Task task, int epicId) {
+        int id = task.getId();
+        int name = names[id];
+        int description = descriptions[id];
+        task.setVersion(versions[id] + 1);
+        store(task, epicId);
+        strings.release(name);
+        strings.release(description);
+    }
+
+    private void release(int id) {
+        strings.release(names[id]);
+        strings.release(descriptions[id]);
+        types[id] = 0;
+    }
+
+    private void remove(int id) {
+        removeFromSchedule(id);
+        release(id);
+        historyManager.remove(id);
+    }
+
+    private void removeAll(Type type) {
+        IntLinkedSet removed = new IntLinkedSet();
+        int nextId = Math.min(idGenerator.getHighWaterMark(), types.length);
+        for (int id = 1; id < nextId; id++) {
+            if (isStored(id, type)) {
+                removed.add(id);
+            }
+        }
+        removeAll(removed);
+    }
+
+    private void removeAll(IntLinkedSet ids) {
+        removeFromSchedule(ids);
+        ids.forEach(id -> {
+            release(id);
+            historyManager.remove(id);
+        });
+    }
+
+    private List<Task> materializeAll(Type type) {
+        List<Task> found = new ArrayList<>();
+        int nextId = Math.min(idGenerator.getHighWaterMark(), types.length);
+        for (int id = 1; id < nextId; id++) {
+            if (isStored(id, type)) {
+                found.add(materialize(id));
+            }
+        }
+        return found;
+    }
+
+    private List<Task> materializeSchedule(int fromIndex, int toIndex) {
+        List<Task> prioritized = new ArrayList<>(toIndex - fromIndex);
+        for (int i = fromIndex; i < toIndex; i++) {
+            prioritized.add(materialize(scheduleIds[i]));
+        }
+        return prioritized;
+    }
+
+    private List<Task> materializeHistory(List<Task> viewed) {
+        List<Task> history = new ArrayList<>(viewed.size());
+        for (Task task : viewed) {
+            history.add(materialize(task.getId()));
+        }
+        return history;
+    }
+
+    private Task materialize(int id) {
+        Task task = materializeFields(id);
+        task.setVersion(versions[id]);
+        return task;
+    }
+
+    private Task materializeFields(int id) {
+        String name = strings.get(names[id]);
+        String description = strings.get(descriptions[id]);
+        Status status = statuses[id] < 0 ? null : STATUSES[statuses[id]];
+        LocalDateTime startTime = toTime(starts[id]);
+        Duration duration = Duration.ofMinutes(durations[id]);
+
+        switch (getType(id)) {
+            case SUBTASK:
+                return new Subtask(name, description, id, status, epicIds[id], startTime, duration);
+            case EPIC:
+                Epic epic = new Epic(name, description, id);
+                putEpicFields(epic, id);
+                return epic;
+            default:
+                return new Task(name, description, id, status, startTime, duration);
+        }
+    }
+
+    private void putEpicFields(Epic epic, int id) {
+        IntLinkedSet subTaskIds = epicSubTasks.get(id);
+        int newSubTasks = 0;
+        int doneSubTasks = 0;
+        long duration = 0;
+        long startTime = Long.MAX_VALUE;
+        long endTime = NO_TIME;
+
+        for (PrimitiveIterator.OfInt iterator = subTaskIds.iterator(); iterator.hasNext(); ) {
+            int subTaskId = iterator.nextInt();
+            epic.getSubTasks().add(subTaskId);
+            if (statuses[subTaskId] == Status.NEW.ordinal()) {
+                newSubTasks++;
+            } else if (statuses[subTaskId] == Status.DONE.ordinal()) {
+                doneSubTasks++;
+            }
+
+            if (starts[subTaskId] != NO_TIME) {
+                duration += durations[subTaskId];
+                startTime = Math.min(startTime, starts[subTaskId]);
+                endTime = Math.max(endTime, getEnd(subTaskId));
+            }
+        }
+
+        if (newSubTasks == subTaskIds.size()) {
+            epic.setStatus(Status.NEW);
+        } else if (doneSubTasks == subTaskIds.size()) {
+            epic.setStatus(Status.DONE);
+        } else {
+            epic.setStatus(Status.IN_PROGRESS);
+        }
+        epic.setStartTime(endTime == NO_TIME ? null : toTime(startTime));
+        epic.setDuration(Duration.ofMinutes(duration));
+        epic.setEndTime(toTime(endTime));
+    }
+
+    private void checkTaskTime(Task task) {
+        if (task.getStartTime() == null || scheduleSize == 0) {
+            return;
+        }
+
+        int id = task.getId();
+        long start = toMinutes(task.getStartTime());
+        long end = start + (task.getDuration() == null ? 0 : task.getDuration().toMinutes());
+        int next = lowerBound(start + 1);
+
+        int previous = next - 1;
+        if (previous >= 0 && scheduleIds[previous] == id) {
+            previous--;
+        }
+        if (previous >= 0 && isTaskTimeConflict(start, end, scheduleIds[previous])) {
+            throw new ValidationException("Найдено пересечение по времени: ", id, scheduleIds[previous]);
+        }
+
+        if (next < scheduleSize && scheduleIds[next] == id) {
+            next++;
+        }
+        if (next < scheduleSize && isTaskTimeConflict(start, end, scheduleIds[next])) {
+            throw new ValidationException("Найдено пересечение по времени: " + id + ", " + scheduleIds[next]);
+        }
+    }
+
+    // A null expected version is a plain update that overwrites whatever is stored.
+    private void checkVersion(int id, Integer expectedVersion) {
+        if (expectedVersion != null && expectedVersion != versions[id]) {
+            throw new VersionConflictException("Задача была изменена: " + id);
+        }
+    }
+
+    private void checkBatchTask(IntLinkedSet replaced, Integer id) {
+        if (id == null || !isStored(id, Type.TASK)) {
+            throw new NotFoundException("Задача не найдена");
+        }
+        if (!replaced.add(id)) {
+            throw new IllegalArgumentException("Задача повторяется в пакете: " + id);
+        }
+    }
+
+    private static void checkBatchType(Task task) {
+        if (task.getType() != Type.TASK) {
+            throw new ValidationException("В пакете допускаются только задачи: " + task.getType());
+        }
+    }
+
+    private static void addTimed(List<Task> timed, Task task) {
+        if (task.getStartTime() != null) {
+            timed.add(task);
+        }
+    }
+
+    private void checkBatchTime(TaskBatch batch, List<Task> timed, IntLinkedSet replaced) {
+        Task previous = null;
+        long previousStart = 0;
+        long previousEnd = 0;
+        for (Task task : timed) {
+            String id = batch.getEntryName(task);
+            long start = toMinutes(task.getStartTime());
+            long end = start + (task.getDuration() == null ? 0 : task.getDuration().toMinutes());
+            if (previous != null && isTimeConflict(start, end, previousStart, previousEnd)) {
+                throw new ValidationException("Найдено пересечение по времени: " + batch.getEntryName(previous)
+                        + ", " + id);
+            }
+
+            int next = lowerBound(start + 1);
+            int lower = next - 1;
+            while (lower >= 0 && replaced.contains(scheduleIds[lower])) {
+                lower--;
+            }
+            if (lower >= 0 && isTaskTimeConflict(start, end, scheduleIds[lower])) {
+                throw new ValidationException("Найдено пересечение по времени: " + id + ", " + scheduleIds[lower]);
+            }
+
+            while (next < scheduleSize && replaced.contains(scheduleIds[next])) {
+                next++;
+            }
+            if (next < scheduleSize && isTaskTimeConflict(start, end, scheduleIds[next])) {
+                throw new ValidationException("Найдено пересечение по времени: " + id + ", " + scheduleIds[next]);
+            }
+
+            previous = task;
+            previousStart = start;
+            previousEnd = end;
+        }
+    }
+
+    private boolean isTaskTimeConflict(long start, long end, int sortedId) {
+        return isTimeConflict(start, end, starts[sortedId], getEnd(sortedId));
+    }
+
+    private static boolean isTimeConflict(long start, long end, long sortedStart, long sortedEnd) {
+        return (sortedStart < end && sortedEnd > start) || sortedStart == start;
+    }
+
+    private long getEnd(int id) {
+        return starts[id] + durations[id];
+    }
+
+    private void addToSchedule(int id) {
+        if (starts[id] == NO_TIME) {
+            return;
+        }
+
+        if (scheduleSize == scheduleIds.length) {
+            scheduleStarts = Arrays.copyOf(scheduleStarts, scheduleSize * 2);
+            scheduleIds = Arrays.copyOf(scheduleIds, scheduleSize * 2);
+        }
+
+        int index = lowerBound(starts[id]);
+        System.arraycopy(scheduleStarts, index, scheduleStarts, index + 1, scheduleSize - index);
+        System.arraycopy(scheduleIds, index, scheduleIds, index + 1, scheduleSize - index);
+        scheduleStarts[index] = starts[id];
+        scheduleIds[index] = id;
+        scheduleSize++;
+    }
+
+    private void removeFromSchedule(int id) {
+        if (starts[id] == NO_TIME) {
+            return;
+        }
+
+        int index = lowerBound(starts[id]);
+        while (index < scheduleSize && scheduleIds[index] != id) {
+            index++;
+        }
+        if (index == scheduleSize) {
+            return;
+        }
+
+        System.arraycopy(scheduleStarts, index + 1, scheduleStarts, index, scheduleSize - index - 1);
+        System.arraycopy(scheduleIds, index + 1, scheduleIds, index, scheduleSize - index - 1);
+        scheduleSize--;
+    }
+
+    private void removeFromSchedule(IntLinkedSet ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+
+        int size = 0;
+        for (int index = 0; index < scheduleSize; index++) {
+            if (!ids.contains(scheduleIds[index])) {
+                scheduleStarts[size] = scheduleStarts[index];
+                scheduleIds[size] = scheduleIds[index];
+                size++;
+            }
+        }
+        scheduleSize = size;
+    }
+
+    private void mergeIntoSchedule(List<Task> sorted) {
+        if (sorted.isEmpty()) {
+            return;
+        }
+
+        int size = scheduleSize + sorted.size();
+        long[] mergedStarts = new long[Math.max(size, scheduleIds.length)];
+        int[] mergedIds = new int[mergedStarts.length];
+        int index = 0;
+        int batchIndex = 0;
+        for (int merged = 0; merged < size; merged++) {
+            if (batchIndex == sorted.size() || (index < scheduleSize
+                    && scheduleStarts[index] <= starts[sorted.get(batchIndex).getId()])) {
+                mergedStarts[merged] = scheduleStarts[index];
+                mergedIds[merged] = scheduleIds[index];
+                index++;
+            } else {
+                int id = sorted.get(batchIndex++).getId();
+                mergedStarts[merged] = starts[id];
+                mergedIds[merged] = id;
+            }
+        }
+
+        scheduleStarts = mergedStarts;
+        scheduleIds = mergedIds;
+        scheduleSize = size;
+    }
+
+    private int lowerBound(long start) {
+        int low = 0;
+        int high = scheduleSize;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (scheduleStarts[middle] < start) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private void ensureCapacity(int id) {
+        if (id < types.length) {
+            return;
+        }
+
+        int capacity = Math.max(types.length * 2, id + 1);
+        types = Arrays.copyOf(types, capacity);
+        statuses = Arrays.copyOf(statuses, capacity);
+        epicIds = Arrays.copyOf(epicIds, capacity);
+        starts = Arrays.copyOf(starts, capacity);
+        durations = Arrays.copyOf(durations, capacity);
+        names = Arrays.copyOf(names, capacity);
+        descriptions = Arrays.copyOf(descriptions, capacity);
+        versions = Arrays.copyOf(versions, capacity);
+    }
+
+    private static long toMinutes(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) / 60;
+    }
+
+    private static LocalDateTime toTime(long minutes) {
+        return minutes == NO_TIME ? null : LocalDateTime.ofEpochSecond(minutes * 60, 0, ZoneOffset.UTC);
+    }
+
+    private static class StringPool {
+        private final Map<String, Integer> refs = new HashMap<>();
+        private final IntList free = new IntList();
+        private String[] values = new String[DEFAULT_CAPACITY];
+        private int[] counts = new int[DEFAULT_CAPACITY];
+        private int size;
+
+        private int acquire(String value) {
+            if (value == null) {
+                return -1;
+            }
+
+            Integer ref = refs.get(value);
+            if (ref == null) {
+                ref = free.isEmpty() ? size++ : free.removeLast();
+                if (ref == values.length) {
+                    values = Arrays.copyOf(values, ref * 2);
+                    counts = Arrays.copyOf(counts, ref * 2);
+                }
+                values[ref] = value;
+                refs.put(value, ref);
+            }
+            counts[ref]++;
+            return ref;
+        }
+
+        private void release(int ref) {
+            if (ref >= 0 && --counts[ref] == 0) {
+                refs.remove(values[ref]);
+                values[ref] = null;
+                free.add(ref);
+            }
+        }
+
+        private String get(int ref) {
+            return ref < 0 ? null : values[ref];
+        }
+    }
+}
\ No newline at end of file
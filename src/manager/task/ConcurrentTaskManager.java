@@ -0,0 +1,225 @@
+package manager.task;
+
+import model.Epic;
+import model.Subtask;
+import model.Task;
+import model.TaskBatch;
+import model.TaskQuery;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+public class ConcurrentTaskManager implements TaskManager {
+    private final TaskManager manager;
+    private final InMemoryTaskManager snapshots;
+    private final Lock readLock;
+    private final Lock writeLock;
+    private final boolean concurrentHistory;
+
+    public ConcurrentTaskManager(TaskManager manager) {
+        this(manager, false);
+    }
+
+    public ConcurrentTaskManager(TaskManager manager, boolean concurrentHistory) {
+        ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        this.manager = manager;
+        this.snapshots = manager instanceof InMemoryTaskManager inMemory ? inMemory : null;
+        this.concurrentHistory = concurrentHistory;
+        this.readLock = lock.readLock();
+        this.writeLock = lock.writeLock();
+    }
+
+    @Override
+    public List<Task> getAllTasks() {
+        return read(manager::getAllTasks, InMemoryTaskManager::getPublishedTasks);
+    }
+
+    @Override
+    public List<Subtask> getAllSubtasks() {
+        return read(manager::getAllSubtasks, InMemoryTaskManager::getPublishedSubtasks);
+    }
+
+    @Override
+    public List<Epic> getAllEpics() {
+        return read(manager::getAllEpics, InMemoryTaskManager::getPublishedEpics);
+    }
+
+    @Override
+    public List<Task> findTasks(TaskQuery query) {
+        return read(() -> manager.findTasks(query));
+    }
+
+    @Override
+    public void removeAllTasks() {
+        write(manager::removeAllTasks);
+    }
+
+    @Override
+    public void removeAllSubTasks() {
+        write(manager::removeAllSubTasks);
+    }
+
+    @Override
+    public void removeAllEpics() {
+        write(manager::removeAllEpics);
+    }
+
+    @Override
+    public Task getTask(int id) {
+        return view(() -> manager.getTask(id));
+    }
+
+    @Override
+    public Subtask getSubTask(int id) {
+        return view(() -> manager.getSubTask(id));
+    }
+
+    @Override
+    public Epic getEpic(int id) {
+        return view(() -> manager.getEpic(id));
+    }
+
+    @Override
+    public Task createTask(Task task) {
+        return write(() -> manager.createTask(task));
+    }
+
+    @Override
+    public Subtask createSubTask(Subtask subtask) {
+        return write(() -> manager.createSubTask(subtask));
+    }
+
+    @Override
+    public Epic createEpic(Epic epic) {
+        return write(() -> manager.createEpic(epic));
+    }
+
+    @Override
+    public List<Task> applyBatch(TaskBatch batch) {
+        return write(() -> manager.applyBatch(batch));
+    }
+
+    @Override
+    public void updateTask(Task task) {
+        write(() -> manager.updateTask(task));
+    }
+
+    @Override
+    public void updateSubTask(Subtask subtask) {
+        write(() -> manager.updateSubTask(subtask));
+    }
+
+    @Override
+    public void updateEpic(Epic epic) {
+        write(() -> manager.updateEpic(epic));
+    }
+
+    @Override
+    public void updateTask(Task task, int expectedVersion) {
+        write(() -> manager.updateTask(task, expectedVersion));
+    }
+
+    @Override
+    public void updateSubTask(Subtask subtask, int expectedVersion) {
+        write(() -> manager.updateSubTask(subtask, expectedVersion));
+    }
+
+    @Override
+    public void updateEpic(Epic epic, int expectedVersion) {
+        write(() -> manager.updateEpic(epic, expectedVersion));
+    }
+
+    @Override
+    public void deleteTask(int id) {
+        write(() -> manager.deleteTask(id));
+    }
+
+    @Override
+    public void deleteEpic(int id) {
+        write(() -> manager.deleteEpic(id));
+    }
+
+    @Override
+    public void deleteSubTask(int id) {
+        write(() -> manager.deleteSubTask(id));
+    }
+
+    @Override
+    public List<Subtask> getEpicSubTasks(Epic epic) {
+        return read(() -> manager.getEpicSubTasks(epic));
+    }
+
+    @Override
+    public List<Task> getHistory() {
+        return read(manager::getHistory);
+    }
+
+    @Override
+    public List<Task> getHistory(int limit) {
+        return read(() -> manager.getHistory(limit));
+    }
+
+    @Override
+    public List<Task> getPrioritizedTasks() {
+        return read(manager::getPrioritizedTasks, InMemoryTaskManager::getPublishedPrioritizedTasks);
+    }
+
+    @Override
+    public List<Task> getPrioritizedTasks(LocalDateTime from, LocalDateTime to) {
+        return read(() -> manager.getPrioritizedTasks(from, to));
+    }
+
+    @Override
+    public long getModificationCount() {
+        return manager.getModificationCount();
+    }
+
+    private <T> T read(Supplier<T> action, Function<InMemoryTaskManager, T> published) {
+        T snapshot = snapshots == null ? null : published.apply(snapshots);
+        return snapshot != null ? snapshot : read(action);
+    }
+
+    private <T> T read(Supplier<T> action) {
+        readLock.lock();
+        try {
+            return action.get();
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    private <T> T view(Supplier<T> action) {
+        return concurrentHistory ? read(action) : write(action);
+    }
+
+    // Commits of the write are awaited after the lock is released, so concurrent writers share one group commit.
+    private <T> T write(Supplier<T> action) {
+        DeferredCommit deferred = manager instanceof DeferredCommit commit ? commit : null;
+        try {
+            writeLock.lock();
+            try {
+                if (deferred != null) {
+                    deferred.deferCommit();
+                }
+                return action.get();
+            } finally {
+                writeLock.unlock();
+            }
+        } finally {
+            if (deferred != null) {
+                deferred.awaitCommit();
+            }
+        }
+    }
+
+    private void write(Runnable action) {
+        write(() -> {
+            action.run();
+            return null;
+        });
+    }
+}
\ No newline at end of file
@@ -0,0 +1,8 @@
+package manager.task;
+
+// Deferral applies to the calling thread only, so other callers of the same manager keep waiting for their commits.
+public interface DeferredCommit {
+    void deferCommit();
+
+    void awaitCommit();
+}
\ No newline at end of file
@@ -0,0 +1,19 @@
+package manager.task;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class IdGenerator {
+    private final AtomicInteger next = new AtomicInteger(1);
+
+    public int nextId() {
+        return next.getAndIncrement();
+    }
+
+    public int getHighWaterMark() {
+        return next.get();
+    }
+
+    public void advanceTo(int nextId) {
+        next.accumulateAndGet(nextId, Math::max);
+    }
+}
\ No newline at end of file
@@ -2,81 +2,170 @@ package manager.task;
 
 import exception.NotFoundException;
 import exception.ValidationException;
+import exception.VersionConflictException;
 import manager.history.HistoryManager;
 import model.Epic;
 import model.Status;
 import model.Subtask;
 import model.Task;
-
+import model.TaskBatch;
+import model.TaskQuery;
+import model.Type;
+import util.IntLinkedSet;
+import util.IntMap;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.atomic.AtomicReference;
 
 public class InMemoryTaskManager implements TaskManager {
-    protected int seq = 1;
-
-    protected final HashMap<Integer, Task> tasks;
-    protected final HashMap<Integer, Epic> epics;
-    protected final HashMap<Integer, Subtask> subTasks;
+    protected final IntMap<Task> tasks;
+    protected final IntMap<Epic> epics;
+    protected final IntMap<Subtask> subTasks;
     protected final HistoryManager historyManager;
-    protected final Set<Task> sortedTasks;
+    protected final NavigableSet<Task> sortedTasks;
+    protected final IdGenerator idGenerator;
+    private volatile long version;
+    private final AtomicReference<Snapshot<Task>> tasksSnapshot = new AtomicReference<>();
+    private final AtomicReference<Snapshot<Subtask>> subTasksSnapshot = new AtomicReference<>();
+    private final AtomicReference<Snapshot<Epic>> epicsSnapshot = new AtomicReference<>();
+    private final AtomicReference<Snapshot<Task>> prioritizedSnapshot = new AtomicReference<>();
+    private volatile HistoryCopy historyCopy;
 
     public InMemoryTaskManager(HistoryManager historyManager) {
-        this.tasks = new HashMap<>();
-        this.epics = new HashMap<>();
-        this.subTasks = new HashMap<>();
+        this(historyManager, new IdGenerator());
+    }
+
+    public InMemoryTaskManager(HistoryManager historyManager, IdGenerator idGenerator) {
+        this.tasks = new IntMap<>();
+        this.epics = new IntMap<>();
+        this.subTasks = new IntMap<>();
         this.sortedTasks = new TreeSet<>(Comparator.comparing(Task::getStartTime));
         this.historyManager = historyManager;
+        this.idGenerator = idGenerator;
     }
 
     @Override
     public List<Task> getAllTasks() {
-        return new ArrayList<>(tasks.values());
+        Snapshot<Task> snapshot = tasksSnapshot.get();
+        if (!isCurrent(snapshot)) {
+            snapshot = publish(tasksSnapshot, tasks.sortedValues());
+        }
+        return snapshot.getValues();
     }
 
     @Override
     public List<Subtask> getAllSubtasks() {
-        return new ArrayList<>(subTasks.values());
+        Snapshot<Subtask> snapshot = subTasksSnapshot.get();
+        if (!isCurrent(snapshot)) {
+            snapshot = publish(subTasksSnapshot, subTasks.sortedValues());
+        }
+        return snapshot.getValues();
     }
 
     @Override
     public List<Epic> getAllEpics() {
-        return new ArrayList<>(epics.values());
+        Snapshot<Epic> snapshot = epicsSnapshot.get();
+        if (!isCurrent(snapshot)) {
+            snapshot = publish(epicsSnapshot, epics.sortedValues());
+        }
+        return snapshot.getValues();
     }
 
     @Override
-    public void removeAllTasks() {
-        for (Integer id : tasks.keySet()) {
-            historyManager.remove(id);
-            try {
-                sortedTasks.remove(tasks.get(id));
-            } catch (NullPointerException e) {
+    public List<Task> findTasks(TaskQuery query) {
+        if (query.hasTimeRange()) {
+            return findScheduledTasks(query);
+        }
+
+        // Pages follow ids, so they are read from the id-ordered snapshots of the stores, starting after the cursor
+        // and stopping at the limit. Without a type the snapshots of all three stores are merged by id.
+        List<List<? extends Task>> stores = new ArrayList<>(3);
+        if (query.getType() == null || query.getType() == Type.TASK) {
+            stores.add(getAllTasks());
+        }
+        if (query.getType() == null || query.getType() == Type.EPIC) {
+            stores.add(getAllEpics());
+        }
+        if (query.getType() == null || query.getType() == Type.SUBTASK) {
+            stores.add(getAllSubtasks());
+        }
+
+        int[] positions = new int[stores.size()];
+        for (int i = 0; i < stores.size(); i++) {
+            positions[i] = getFirstAfter(stores.get(i), query.getCursor());
+        }
+
+        List<Task> found = new ArrayList<>();
+        while (found.size() < query.getLimit()) {
+            int next = -1;
+            for (int i = 0; i < stores.size(); i++) {
+                if (positions[i] < stores.get(i).size() && (next < 0
+                        || stores.get(i).get(positions[i]).getId() < stores.get(next).get(positions[next]).getId())) {
+                    next = i;
+                }
+            }
+            if (next < 0) {
                 break;
             }
+
+            Task task = stores.get(next).get(positions[next]++);
+            if (query.matches(task)) {
+                found.add(task);
+            }
+        }
+        return found;
+    }
+
+    @Override
+    public void removeAllTasks() {
+        try {
+            for (Task task : tasks.values()) {
+                historyManager.remove(task.getId());
+                removeFromSchedule(task);
+            }
+            tasks.clear();
+        } finally {
+            modified();
         }
-        tasks.clear();
     }
 
     @Override
     public void removeAllSubTasks() {
-        for (Integer id : subTasks.keySet()) {
-            removeSubTaskFromEpic(subTasks.get(id));
-            historyManager.remove(id);
-            try {
-                sortedTasks.remove(subTasks.get(id));
-            } catch (NullPointerException ignored) {
-                break;
+        try {
+            for (Subtask subtask : subTasks.values()) {
+                historyManager.remove(subtask.getId());
+                removeFromSchedule(subtask);
+            }
+
+            for (Epic epic : epics.values()) {
+                epic.getSubTasks().clear();
+                epic.clearSubTaskFields();
+                updateEpicFields(epic);
             }
+            subTasks.clear();
+        } finally {
+            modified();
         }
-        subTasks.clear();
     }
 
     @Override
     public void removeAllEpics() {
-        for (Integer id : epics.keySet()) {
-            historyManager.remove(id);
+        try {
+            for (Epic epic : epics.values()) {
+                historyManager.remove(epic.getId());
+            }
+
+            for (Subtask subtask : subTasks.values()) {
+                historyManager.remove(subtask.getId());
+                removeFromSchedule(subtask);
+            }
+            subTasks.clear();
+            epics.clear();
+        } finally {
+            modified();
         }
-        subTasks.clear();
-        epics.clear();
     }
 
     @Override
@@ -102,8 +191,9 @@ public class InMemoryTaskManager implements TaskManager {
     @Override
     public Epic getEpic(int id) {
         try {
-            historyManager.add(epics.get(id));
-            return epics.get(id);
+            Epic epic = loadBody(epics.get(id));
+            historyManager.add(epic);
+            return epic.copy();
         } catch (NullPointerException exception) {
             throw new NotFoundException("Не найден эпик");
         }
@@ -111,157 +201,267 @@ public class InMemoryTaskManager implements TaskManager {
 
     @Override
     public Task createTask(Task task) {
-
-        task.setId(generateId());
-        if (task.getStartTime() != null) {
-            checkTaskTime(task);
-            sortedTasks.add(task);
+        try {
+            task.setId(generateId());
+            task.setVersion(1);
+            if (task.getStartTime() != null) {
+                checkTaskTime(task);
+                sortedTasks.add(task);
+            }
+            tasks.put(task.getId(), task);
+            return task;
+        } finally {
+            modified();
         }
-        tasks.put(task.getId(), task);
-        return task;
-
     }
 
     @Override
     public Subtask createSubTask(Subtask subtask) {
-        subtask.setId(generateId());
-        Epic epic;
         try {
-            epic = epics.get(subtask.getEpicId());
-        } catch (NullPointerException exception) {
-            throw new NotFoundException("Эпик для подзадачи не найден");
-        }
-
-        if (subtask.getStartTime() != null) {
-            checkTaskTime(subtask);
-            sortedTasks.add(subtask);
-        }
+            subtask.setId(generateId());
+            subtask.setVersion(1);
+            Epic epic = epics.get(subtask.getEpicId());
+            if (epic == null) {
+                throw new NotFoundException("Эпик для подзадачи не найден");
+            }
 
-        addSubTask(subtask);
-        subTasks.put(subtask.getId(), subtask);
-        updateEpicFields(epic);
+            if (subtask.getStartTime() != null) {
+                checkTaskTime(subtask);
+                sortedTasks.add(subtask);
+            }
 
-        return subtask;
+            addSubTask(subtask);
+            subTasks.put(subtask.getId(), subtask);
+            updateEpicFields(epic);
 
+            return subtask;
+        } finally {
+            modified();
+        }
     }
 
     @Override
     public Epic createEpic(Epic epic) {
-        epic.setId(generateId());
-        epics.put(epic.getId(), epic);
-        updateEpicFields(epic);
-        return epic;
+        try {
+            epic.setId(generateId());
+            epics.put(epic.getId(), epic);
+            updateEpicFields(epic);
+            return epic;
+        } finally {
+            modified();
+        }
     }
 
     @Override
-    public void updateTask(Task task) {
-        Task original = tasks.get(task.getId());
-        if (original == null) {
-            throw new NotFoundException("Задача не найдена");
+    public List<Task> applyBatch(TaskBatch batch) {
+        try {
+            IntLinkedSet replaced = new IntLinkedSet();
+            List<Task> timed = new ArrayList<>();
+            for (Integer id : batch.getDelete()) {
+                checkBatchTask(replaced, id);
+            }
+            for (Task task : batch.getUpdate()) {
+                checkBatchType(task);
+                checkBatchTask(replaced, task.getId());
+                addTimed(timed, task);
+            }
+            for (Task task : batch.getCreate()) {
+                checkBatchType(task);
+                addTimed(timed, task);
+            }
+            checkBatchTime(batch, timed, replaced);
+
+            for (int id : batch.getDelete()) {
+                removeFromSchedule(tasks.remove(id));
+                historyManager.remove(id);
+            }
+            for (Task task : batch.getUpdate()) {
+                removeFromSchedule(tasks.get(task.getId()));
+            }
+            for (Task task : batch.getUpdate()) {
+                task.setVersion(tasks.get(task.getId()).getVersion() + 1);
+                addToSchedule(task);
+                tasks.put(task.getId(), task);
+            }
+            for (Task task : batch.getCreate()) {
+                task.setId(generateId());
+                task.setVersion(1);
+                addToSchedule(task);
+                tasks.put(task.getId(), task);
+            }
+            return batch.getCreate();
+        } finally {
+            modified();
         }
-        if (task.getStartTime() != null) {
-            checkTaskTime(task);
-            try {
-                sortedTasks.remove(original);
-                sortedTasks.add(task);
-            } catch (NullPointerException e) {
-                sortedTasks.add(task);
+    }
+
+    @Override
+    public void updateTask(Task task) {
+        replaceTask(task, null);
+    }
+
+    @Override
+    public void updateTask(Task task, int expectedVersion) {
+        replaceTask(task, expectedVersion);
+    }
+
+    private void replaceTask(Task task, Integer expectedVersion) {
+        try {
+            Task original = tasks.get(task.getId());
+            if (original == null) {
+                throw new NotFoundException("Задача не найдена");
             }
+            checkVersion(original, expectedVersion);
+            if (task.getStartTime() != null) {
+                checkTaskTime(task);
+            }
+
+            task.setVersion(original.getVersion() + 1);
+            removeFromSchedule(original);
+            addToSchedule(task);
+            tasks.put(task.getId(), task);
+        } finally {
+            modified();
         }
-        tasks.put(task.getId(), task);
     }
 
     @Override
     public void updateSubTask(Subtask subtask) {
-        Subtask original = subTasks.get(subtask.getId());
+        replaceSubTask(subtask, null);
+    }
 
-        if (original == null) {
-            throw new NotFoundException("Подзадача не найдена");
-        }
+    @Override
+    public void updateSubTask(Subtask subtask, int expectedVersion) {
+        replaceSubTask(subtask, expectedVersion);
+    }
 
-        if (original.getEpicId() == null) {
-            throw new NotFoundException("Эпик не найден");
-        }
+    private void replaceSubTask(Subtask subtask, Integer expectedVersion) {
+        try {
+            Subtask original = subTasks.get(subtask.getId());
 
-        if (subtask.getStartTime() != null) {
-            checkTaskTime(subtask);
-            try {
-                sortedTasks.remove(original);
-                sortedTasks.add(subtask);
-            } catch (NullPointerException e) {
-                sortedTasks.add(subtask);
+            if (original == null) {
+                throw new NotFoundException("Подзадача не найдена");
+            }
+
+            Epic epic = epics.get(original.getEpicId());
+            if (epic == null) {
+                throw new NotFoundException("Эпик не найден");
             }
-        }
 
+            Epic newEpic = epics.get(subtask.getEpicId());
+            if (newEpic == null) {
+                throw new NotFoundException("Эпик для подзадачи не найден или не указан");
+            }
 
-        try {
+            checkVersion(original, expectedVersion);
+            if (subtask.getStartTime() != null) {
+                checkTaskTime(subtask);
+            }
+
+            subtask.setVersion(original.getVersion() + 1);
+            removeFromSchedule(original);
+            addToSchedule(subtask);
             subTasks.put(subtask.getId(), subtask);
-            updateEpicFields(epics.get(subtask.getEpicId()));
-        } catch (NullPointerException exception) {
-            throw new NotFoundException("Эпик для подзадачи не найден или не указан");
+
+            if (epic != newEpic) {
+                removeSubTaskFromEpic(original);
+                addSubTask(subtask);
+                updateEpicFields(newEpic);
+                return;
+            }
+
+            epic.putSubTaskFields(subtask);
+            updateEpicFields(epic);
+        } finally {
+            modified();
         }
     }
 
     @Override
     public void updateEpic(Epic epic) {
-        Epic saved = epics.get(epic.getId());
-        if (saved == null) {
-            throw new NotFoundException("Эпик не найден");
-        }
+        replaceEpic(epic, null);
+    }
+
+    @Override
+    public void updateEpic(Epic epic, int expectedVersion) {
+        replaceEpic(epic, expectedVersion);
+    }
 
-        saved.setName(epic.getName());
-        saved.setDescription(epic.getDescription());
-        epics.put(saved.getId(), saved);
+    private void replaceEpic(Epic epic, Integer expectedVersion) {
+        try {
+            Epic saved = epics.get(epic.getId());
+            if (saved == null) {
+                throw new NotFoundException("Эпик не найден");
+            }
+            checkVersion(saved, expectedVersion);
+
+            saved.setName(epic.getName());
+            saved.setDescription(epic.getDescription());
+            saved.setVersion(saved.getVersion() + 1);
+            epic.setVersion(saved.getVersion());
+            epics.put(saved.getId(), saved);
+        } finally {
+            modified();
+        }
     }
 
     @Override
     public void deleteTask(int id) {
         try {
-            sortedTasks.remove(tasks.get(id));
-            tasks.remove(id);
+            Task task = tasks.remove(id);
+            if (task == null) {
+                throw new NotFoundException("Задача не найдена");
+            }
+
+            removeFromSchedule(task);
             historyManager.remove(id);
-        } catch (NullPointerException e) {
-            throw new NotFoundException("Задача не найдена");
+        } finally {
+            modified();
         }
     }
 
     @Override
     public void deleteEpic(int id) {
         try {
-            Epic epic = epics.get(id);
-
-            for (Integer subTask : epic.getSubTasks()) {
-                subTasks.remove(subTask);
-                historyManager.remove(subTask);
+            Epic epic = epics.remove(id);
+            if (epic == null) {
+                throw new NotFoundException("Эпик не найден");
             }
 
-            epics.remove(id);
+            epic.getSubTasks().forEach(subTaskId -> {
+                removeFromSchedule(subTasks.remove(subTaskId));
+                historyManager.remove(subTaskId);
+            });
             historyManager.remove(id);
-        } catch (NullPointerException exception) {
-            throw new NotFoundException("Эпик не найден");
+        } finally {
+            modified();
         }
     }
 
     @Override
     public void deleteSubTask(int id) {
         try {
-            subTasks.get(id);
-            removeSubTaskFromEpic(subTasks.get(id));
-            sortedTasks.remove(subTasks.get(id));
+            Subtask subtask = subTasks.get(id);
+            if (subtask == null) {
+                throw new NotFoundException("Подзадача не найдена");
+            }
+
+            removeSubTaskFromEpic(subtask);
+            removeFromSchedule(subtask);
             subTasks.remove(id);
             historyManager.remove(id);
-        } catch (NullPointerException exception) {
-            throw new NotFoundException("Подзадача не найдена");
+        } finally {
+            modified();
         }
-
     }
 
     @Override
     public List<Subtask> getEpicSubTasks(Epic epic) {
         try {
-            return subTasks.values().stream()
-                    .filter(subtask -> subtask.getEpicId() == epic.getId())
-                    .collect(Collectors.toList());
+            Epic saved = epics.get(epic.getId());
+            List<Subtask> epicSubTasks = new ArrayList<>(saved.getSubTasks().size());
+            saved.getSubTasks().forEach(subTaskId -> epicSubTasks.add(subTasks.get(subTaskId)));
+            return epicSubTasks;
         } catch (NullPointerException exception) {
             throw new NotFoundException("Подзадачи для данного эпика не найдены");
         }
@@ -269,114 +469,324 @@ public class InMemoryTaskManager implements TaskManager {
 
     @Override
     public List<Task> getHistory() {
-        return historyManager.getHistory();
+        return copyEpics(historyManager.getHistory());
     }
 
     @Override
-    public List<Task> getPrioritizedTasks() {
-        return new ArrayList<>(sortedTasks);
+    public List<Task> getHistory(int limit) {
+        return copyEpics(historyManager.getHistory(limit));
     }
 
-    private int generateId() {
-        return seq++;
+    @Override
+    public List<Task> getPrioritizedTasks() {
+        Snapshot<Task> snapshot = prioritizedSnapshot.get();
+        if (!isCurrent(snapshot)) {
+            snapshot = publish(prioritizedSnapshot, sortedTasks);
+        }
+        return snapshot.getValues();
     }
 
-    protected void addSubTask(Subtask subtask) {
-        try {
-            Epic epic = epics.get(subtask.getEpicId());
-            epic.getSubTasks().add(subtask.getId());
-        } catch (NullPointerException exception) {
-            throw new NotFoundException("Эпик для подзадачи не найден");
+    @Override
+    public List<Task> getPrioritizedTasks(LocalDateTime from, LocalDateTime to) {
+        if (from != null && to != null && from.isAfter(to)) {
+            return List.of();
+        }
+        NavigableSet<Task> window = sortedTasks;
+        List<Task> prioritized = new ArrayList<>();
+        if (from != null) {
+            Task previous = sortedTasks.lower(getTimeProbe(from));
+            if (previous != null && previous.getEndTime().isAfter(from)) {
+                prioritized.add(previous);
+            }
+            window = window.tailSet(getTimeProbe(from), true);
         }
+        if (to != null) {
+            window = window.headSet(getTimeProbe(to), false);
+        }
+
+        prioritized.addAll(window);
+        return prioritized;
+    }
+
+    @Override
+    public long getModificationCount() {
+        return version;
     }
 
-    private void updateEpicFields(Epic epic) {
-        List<Integer> subTasksIds = epic.getSubTasks();
+    List<Task> getPublishedTasks() {
+        return getPublished(tasksSnapshot);
+    }
 
-        if (subTasksIds.isEmpty()) {
-            epic.setStatus(Status.NEW);
-            return;
+    List<Subtask> getPublishedSubtasks() {
+        return getPublished(subTasksSnapshot);
+    }
+
+    List<Epic> getPublishedEpics() {
+        return getPublished(epicsSnapshot);
+    }
+
+    List<Task> getPublishedPrioritizedTasks() {
+        return getPublished(prioritizedSnapshot);
+    }
+
+    protected <T extends Task> T loadBody(T task) {
+        return task;
+    }
+
+    private void modified() {
+        version++;
+    }
+
+    private boolean isCurrent(Snapshot<?> snapshot) {
+        return snapshot != null && snapshot.getVersion() == version;
+    }
+
+    private <T> List<T> getPublished(AtomicReference<Snapshot<T>> published) {
+        Snapshot<T> snapshot = published.get();
+        return isCurrent(snapshot) ? snapshot.getValues() : null;
+    }
+
+    // Epics are changed in place by writers, so readers outside the lock get copies of them.
+    @SuppressWarnings("unchecked")
+    private <T extends Task> T getReadCopy(T task) {
+        T loaded = loadBody(task);
+        return loaded instanceof Epic epic ? (T) epic.copy() : loaded;
+    }
+
+    private <T extends Task> Snapshot<T> publish(AtomicReference<Snapshot<T>> published,
+                                                 Collection<? extends T> values) {
+        List<T> copied = new ArrayList<>(values.size());
+        for (T value : values) {
+            copied.add(getReadCopy(value));
         }
+        Snapshot<T> snapshot = new Snapshot<>(version, copied);
+        published.accumulateAndGet(snapshot,
+                (current, built) -> current != null && current.getVersion() >= built.getVersion() ? current : built);
+        return snapshot;
+    }
 
-        int doneStatus = 0;
-        int newStatus = 0;
+    // The history holds the stored epics, so they are copied like in the list snapshots. The copy is kept until
+    // the history or the manager changes, so repeated reads return the same list.
+    private List<Task> copyEpics(List<Task> history) {
+        HistoryCopy current = historyCopy;
+        if (current != null && current.source == history && current.version == version) {
+            return current.copied;
+        }
 
-        for (Integer subTaskId : subTasksIds) {
-            Subtask subtask = subTasks.get(subTaskId);
+        long copyVersion = version;
+        List<Task> copied = new ArrayList<>(history.size());
+        boolean hasEpics = false;
+        for (Task task : history) {
+            copied.add(getReadCopy(task));
+            hasEpics |= task instanceof Epic;
+        }
+        copied = hasEpics ? Collections.unmodifiableList(copied) : history;
+        historyCopy = new HistoryCopy(history, copyVersion, copied);
+        return copied;
+    }
 
-            if (subtask.getStatus().equals(Status.NEW)) {
-                newStatus++;
-            } else if (subtask.getStatus().equals(Status.DONE)) {
-                doneStatus++;
-            }
+    // Only tasks with a start time match a time range, so the page is read from the schedule, starting at the cursor
+    // and stopping at the limit. Epics are not scheduled, but each starts with its earliest subtask, so an epic is
+    // visited at that subtask's place. Start times in the schedule are unique, so ties are at most an epic and its
+    // subtask, ordered by id.
+    private List<Task> findScheduledTasks(TaskQuery query) {
+        LocalDateTime from = query.getFrom();
+        LocalDateTime to = query.getTo();
+        if (from != null && to != null && from.isAfter(to)) {
+            return List.of();
+        }
 
-            if (subtask.getStartTime() != null) {
-                updateEpicStartTime(epic, subtask);
-                updateEpicDuration(epic, subtask);
-                updateEpicEndTime(epic, subtask);
-            }
+        LocalDateTime start = query.getCursorTime();
+        if (start == null || (from != null && from.isAfter(start))) {
+            start = from;
+        }
+        NavigableSet<Task> window = sortedTasks;
+        if (start != null) {
+            window = window.tailSet(getTimeProbe(start), true);
+        }
+        if (to != null) {
+            window = window.headSet(getTimeProbe(to), false);
         }
 
-        if (newStatus == subTasksIds.size()) {
-            epic.setStatus(Status.NEW);
-        } else if (doneStatus == subTasksIds.size()) {
-            epic.setStatus(Status.DONE);
-        } else {
-            epic.setStatus(Status.IN_PROGRESS);
+        List<Task> found = new ArrayList<>();
+        for (Iterator<Task> iterator = window.iterator(); iterator.hasNext() && found.size() < query.getLimit(); ) {
+            Task task = iterator.next();
+            Epic epic = task instanceof Subtask subtask ? epics.get(subtask.getEpicId()) : null;
+            if (epic == null || !task.getStartTime().equals(epic.getStartTime())) {
+                addFound(found, task, query);
+            } else if (epic.getId() < task.getId()) {
+                addFound(found, epic, query);
+                addFound(found, task, query);
+            } else {
+                addFound(found, task, query);
+                addFound(found, epic, query);
+            }
         }
+        return found;
     }
 
-    private void updateEpicStartTime(Epic epic, Subtask subtask) {
-        if (epic.getStartTime() == null || subtask.getStartTime().isBefore(epic.getStartTime())) {
-            epic.setStartTime(subtask.getStartTime());
+    private void addFound(List<Task> found, Task task, TaskQuery query) {
+        if (found.size() < query.getLimit() && query.isAfterCursor(task) && query.matches(task)) {
+            found.add(getReadCopy(task));
         }
+    }
 
+    private static Task getTimeProbe(LocalDateTime time) {
+        return new Task(null, null, Status.NEW, time, Duration.ZERO);
     }
 
-    private void updateEpicDuration(Epic epic, Subtask subtask) {
-        if (epic.getDuration() == null) {
-            epic.setDuration(subtask.getDuration());
-            return;
+    private static int getFirstAfter(List<? extends Task> sorted, int cursor) {
+        int low = 0;
+        int high = sorted.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (sorted.get(middle).getId() <= cursor) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
         }
+        return low;
+    }
 
-        epic.setDuration(epic.getDuration().plus(subtask.getDuration()));
+    private int generateId() {
+        return idGenerator.nextId();
     }
 
-    private void updateEpicEndTime(Epic epic, Subtask subtask) {
-        if (epic.getEndTime() == null || subtask.getEndTime().isAfter(epic.getEndTime())) {
-            epic.setEndTime(subtask.getEndTime());
+    protected void addSubTask(Subtask subtask) {
+        try {
+            Epic epic = epics.get(subtask.getEpicId());
+            epic.getSubTasks().add(subtask.getId());
+            epic.putSubTaskFields(subtask);
+        } catch (NullPointerException exception) {
+            throw new NotFoundException("Эпик для подзадачи не найден");
+        }
+    }
+
+    protected void updateEpicFields(Epic epic) {
+        epic.setVersion(epic.getVersion() + 1);
+        int subTasksCount = epic.getSubTasks().size();
+
+        if (epic.getNewSubTasks() == subTasksCount) {
+            epic.setStatus(Status.NEW);
+        } else if (epic.getDoneSubTasks() == subTasksCount) {
+            epic.setStatus(Status.DONE);
+        } else {
+            epic.setStatus(Status.IN_PROGRESS);
         }
+
+        epic.setStartTime(epic.getFirstSubTaskStartTime());
+        epic.setDuration(Duration.ofMinutes(epic.getSubTasksDuration()));
+        epic.setEndTime(epic.getLastSubTaskEndTime());
     }
 
     private void removeSubTaskFromEpic(Subtask subtask) {
         Epic epic = epics.get(subtask.getEpicId());
 
         if (epic == null) {
-            seq--;
             throw new NotFoundException("Эпик не найден");
         }
 
         epic.getSubTasks().remove(subtask.getId());
+        epic.removeSubTaskFields(subtask.getId());
         updateEpicFields(epic);
     }
 
+    private void addToSchedule(Task task) {
+        if (task.getStartTime() != null) {
+            sortedTasks.add(task);
+        }
+    }
+
+    private void removeFromSchedule(Task task) {
+        if (task.getStartTime() != null) {
+            sortedTasks.remove(task);
+        }
+    }
+
     private void checkTaskTime(Task task) {
-        if (sortedTasks.isEmpty()) {
+        if (sortedTasks.isEmpty() || task.getStartTime() == null) {
             return;
         }
 
-        for (Task sortedTask : sortedTasks) {
+        Task previous = skipSameTask(sortedTasks.floor(task), task, false);
+        if (previous != null && isTaskTimeConflict(task, previous)) {
+            throw new ValidationException("Найдено пересечение по времени: ", task.getId(), previous.getId());
+        }
+
+        Task next = skipSameTask(sortedTasks.higher(task), task, true);
+        if (next != null && isTaskTimeConflict(task, next)) {
+            throw new ValidationException("Найдено пересечение по времени: ", task.getId(), next.getId());
+        }
+    }
+
+    private Task skipSameTask(Task sortedTask, Task task, boolean ascending) {
+        if (sortedTask != null && sortedTask.getId().equals(task.getId())) {
+            return ascending ? sortedTasks.higher(sortedTask) : sortedTasks.lower(sortedTask);
+        }
+        return sortedTask;
+    }
+
+    // A null expected version is a plain update that overwrites whatever is stored.
+    private static void checkVersion(Task original, Integer expectedVersion) {
+        if (expectedVersion != null && expectedVersion != original.getVersion()) {
+            throw new VersionConflictException("Задача была изменена: " + original.getId());
+        }
+    }
+
+    private void checkBatchTask(IntLinkedSet replaced, Integer id) {
+        if (id == null || tasks.get(id) == null) {
+            throw new NotFoundException("Задача не найдена");
+        }
+        if (!replaced.add(id)) {
+            throw new IllegalArgumentException("Задача повторяется в пакете: " + id);
+        }
+    }
+
+    private static void checkBatchType(Task task) {
+        if (task.getType() != Type.TASK) {
+            throw new ValidationException("В пакете допускаются только задачи: " + task.getType());
+        }
+    }
+
+    private static void addTimed(List<Task> timed, Task task) {
+        if (task.getStartTime() != null) {
+            timed.add(task);
+        }
+    }
+
+    private void checkBatchTime(TaskBatch batch, List<Task> timed, IntLinkedSet replaced) {
+        timed.sort(Comparator.comparing(Task::getStartTime));
+
+        Task previous = null;
+        for (Task task : timed) {
+            if (previous != null && isTaskTimeConflict(task, previous)) {
+                throw new ValidationException("Найдено пересечение по времени: " + batch.getEntryName(previous)
+                        + ", " + batch.getEntryName(task));
+            }
 
-            if (sortedTask.getId() == task.getId()) {
-                continue;
+            Task lower = skipReplaced(sortedTasks.floor(task), replaced, false);
+            if (lower != null && isTaskTimeConflict(task, lower)) {
+                throw new ValidationException("Найдено пересечение по времени: " + batch.getEntryName(task)
+                        + ", " + lower.getId());
             }
 
-            if (isTaskTimeConflict(task, sortedTask)) {
-                throw new ValidationException("Найдено пересечение по времени: ", task.getId(), sortedTask.getId());
+            Task higher = skipReplaced(sortedTasks.higher(task), replaced, true);
+            if (higher != null && isTaskTimeConflict(task, higher)) {
+                throw new ValidationException("Найдено пересечение по времени: " + batch.getEntryName(task)
+                        + ", " + higher.getId());
             }
+            previous = task;
         }
     }
 
+    private Task skipReplaced(Task sortedTask, IntLinkedSet replaced, boolean ascending) {
+        while (sortedTask != null && replaced.contains(sortedTask.getId())) {
+            sortedTask = ascending ? sortedTasks.higher(sortedTask) : sortedTasks.lower(sortedTask);
+        }
+        return sortedTask;
+    }
+
     private boolean isTaskTimeConflict(Task task, Task sortedTask) {
         if (task.getStartTime() == null || task.getEndTime() == null || sortedTask.getStartTime() == null) {
             return false;
@@ -385,4 +795,34 @@ public class InMemoryTaskManager implements TaskManager {
                 && sortedTask.getEndTime().isAfter(task.getStartTime()))
                 || task.getStartTime().isEqual(sortedTask.getStartTime());
     }
-}
\ No newline at end of file
+
+    private static class Snapshot<T> {
+        private final long version;
+        private final List<T> values;
+
+        private Snapshot(long version, List<T> values) {
+            this.version = version;
+            this.values = Collections.unmodifiableList(values);
+        }
+
+        private long getVersion() {
+            return version;
+        }
+
+        private List<T> getValues() {
+            return values;
+        }
+    }
+
+    private static class HistoryCopy {
+        private final List<Task> source;
+        private final long version;
+        private final List<Task> copied;
+
+        private HistoryCopy(List<Task> source, long version, List<Task> copied) {
+            this.source = source;
+            this.version = version;
+            this.copied = copied;
+        }
+    }
+}
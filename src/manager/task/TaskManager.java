@@ -3,9 +3,14 @@ package manager.task;
 import model.Epic;
 import model.Subtask;
 import model.Task;
+import model.TaskBatch;
+import model.TaskQuery;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
+// An implementation may store its own copy of a task instead of the instance passed to it. Instances passed to
+// or returned by the manager then do not follow later changes, so a task is read again to see them.
 public interface TaskManager {
     List<Task> getAllTasks();
 
@@ -13,6 +18,8 @@ public interface TaskManager {
 
     List<Epic> getAllEpics();
 
+    List<Task> findTasks(TaskQuery query);
+
     void removeAllTasks();
 
     void removeAllSubTasks();
@@ -31,12 +38,21 @@ public interface TaskManager {
 
     Epic createEpic(Epic epic);
 
+    List<Task> applyBatch(TaskBatch batch);
+
     void updateTask(Task task);
 
     void updateSubTask(Subtask subtask);
 
     void updateEpic(Epic epic);
 
+    // Conditional updates: the stored task must still have expectedVersion, otherwise VersionConflictException.
+    void updateTask(Task task, int expectedVersion);
+
+    void updateSubTask(Subtask subtask, int expectedVersion);
+
+    void updateEpic(Epic epic, int expectedVersion);
+
     void deleteTask(int id);
 
     void deleteEpic(int id);
@@ -47,5 +63,11 @@ public interface TaskManager {
 
     List<Task> getHistory();
 
+    List<Task> getHistory(int limit);
+
     List<Task> getPrioritizedTasks();
+
+    List<Task> getPrioritizedTasks(LocalDateTime from, LocalDateTime to);
+
+    long getModificationCount();
 }
\ No newline at end of file
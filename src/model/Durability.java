@@ -0,0 +1,7 @@
+package model;
+
+public enum Durability {
+    NONE,
+    SYNC,
+    ASYNC
+}
\ No newline at end of file
@@ -4,6 +4,7 @@ public enum Endpoint {
     GET_TASKS,
     GET_TASKS_BY_ID,
     POST_TASKS,
+    POST_TASKS_BATCH,
     DELETE_TASKS,
     GET_SUBTASKS,
     GET_SUBTASKS_BY_ID,
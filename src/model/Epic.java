@@ -1,27 +1,46 @@
 package model;
 
+import util.IntLinkedSet;
+import util.IntMap;
+
 import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.TreeMap;
 
 
 public class Epic extends Task {
-    final List<Integer> subTasks;
+    final IntLinkedSet subTasks;
     private LocalDateTime endTime;
+    private transient int newSubTasks;
+    private transient int doneSubTasks;
+    private transient long subTasksDuration;
+    private transient IntMap<SubTaskFields> subTasksFields;
+    private transient TreeMap<LocalDateTime, Integer> subTasksStartTimes;
+    private transient TreeMap<LocalDateTime, Integer> subTasksEndTimes;
 
     public Epic(String name, String description) {
         super(name, description, Status.NEW);
-        this.subTasks = new ArrayList<>();
+        this.subTasks = new IntLinkedSet();
         this.endTime = null;
     }
 
     public Epic(String name, String description, Integer id) {
         super(name, description, id, Status.NEW);
-        this.subTasks = new ArrayList<>();
+        this.subTasks = new IntLinkedSet();
         this.endTime = null;
     }
 
-    public List<Integer> getSubTasks() {
+    public Epic copy() {
+        Epic copy = new Epic(getName(), getDescription(), getId());
+        copy.setStatus(getStatus());
+        copy.setStartTime(getStartTime());
+        copy.setDuration(getDuration());
+        copy.setEndTime(endTime);
+        copy.setVersion(getVersion());
+        subTasks.forEach(copy.subTasks::add);
+        return copy;
+    }
+
+    public IntLinkedSet getSubTasks() {
         return subTasks;
     }
 
@@ -38,4 +57,111 @@ public class Epic extends Task {
     public void setEndTime(LocalDateTime subtaskEndTime) {
         endTime = subtaskEndTime;
     }
+
+    public void putSubTaskFields(Subtask subtask) {
+        SubTaskFields fields = new SubTaskFields(subtask);
+        SubTaskFields previous = getSubTasksFields().put(subtask.getId(), fields);
+        if (previous != null) {
+            subtractFields(previous);
+        }
+
+        if (fields.status == Status.NEW) {
+            newSubTasks++;
+        } else if (fields.status == Status.DONE) {
+            doneSubTasks++;
+        }
+
+        if (fields.startTime != null && fields.endTime != null) {
+            subTasksDuration += fields.duration;
+            getSubTasksStartTimes().merge(fields.startTime, 1, Integer::sum);
+            getSubTasksEndTimes().merge(fields.endTime, 1, Integer::sum);
+        }
+    }
+
+    public void removeSubTaskFields(int subtaskId) {
+        SubTaskFields previous = getSubTasksFields().remove(subtaskId);
+        if (previous != null) {
+            subtractFields(previous);
+        }
+    }
+
+    public void clearSubTaskFields() {
+        newSubTasks = 0;
+        doneSubTasks = 0;
+        subTasksDuration = 0;
+        subTasksFields = null;
+        subTasksStartTimes = null;
+        subTasksEndTimes = null;
+    }
+
+    public int getNewSubTasks() {
+        return newSubTasks;
+    }
+
+    public int getDoneSubTasks() {
+        return doneSubTasks;
+    }
+
+    public long getSubTasksDuration() {
+        return subTasksDuration;
+    }
+
+    public LocalDateTime getFirstSubTaskStartTime() {
+        return getSubTasksStartTimes().isEmpty() ? null : getSubTasksStartTimes().firstKey();
+    }
+
+    public LocalDateTime getLastSubTaskEndTime() {
+        return getSubTasksEndTimes().isEmpty() ? null : getSubTasksEndTimes().lastKey();
+    }
+
+    private void subtractFields(SubTaskFields fields) {
+        if (fields.status == Status.NEW) {
+            newSubTasks--;
+        } else if (fields.status == Status.DONE) {
+            doneSubTasks--;
+        }
+
+        if (fields.startTime != null && fields.endTime != null) {
+            subTasksDuration -= fields.duration;
+            getSubTasksStartTimes().computeIfPresent(fields.startTime,
+                    (time, count) -> count > 1 ? count - 1 : null);
+            getSubTasksEndTimes().computeIfPresent(fields.endTime,
+                    (time, count) -> count > 1 ? count - 1 : null);
+        }
+    }
+
+    private IntMap<SubTaskFields> getSubTasksFields() {
+        if (subTasksFields == null) {
+            subTasksFields = new IntMap<>();
+        }
+        return subTasksFields;
+    }
+
+    private TreeMap<LocalDateTime, Integer> getSubTasksStartTimes() {
+        if (subTasksStartTimes == null) {
+            subTasksStartTimes = new TreeMap<>();
+        }
+        return subTasksStartTimes;
+    }
+
+    private TreeMap<LocalDateTime, Integer> getSubTasksEndTimes() {
+        if (subTasksEndTimes == null) {
+            subTasksEndTimes = new TreeMap<>();
+        }
+        return subTasksEndTimes;
+    }
+
+    private static class SubTaskFields {
+        private final Status status;
+        private final LocalDateTime startTime;
+        private final LocalDateTime endTime;
+        private final long duration;
+
+        private SubTaskFields(Subtask subtask) {
+            this.status = subtask.getStatus();
+            this.startTime = subtask.getStartTime();
+            this.endTime = subtask.getEndTime();
+            this.duration = subtask.getDuration() == null ? 0 : subtask.getDuration().toMinutes();
+        }
+    }
 }
\ No newline at end of file
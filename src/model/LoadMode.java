@@ -0,0 +1,6 @@
+package model;
+
+public enum LoadMode {
+    EAGER,
+    LAZY
+}
\ No newline at end of file
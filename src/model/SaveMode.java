@@ -0,0 +1,6 @@
+package model;
+
+public enum SaveMode {
+    SNAPSHOT,
+    JOURNAL
+}
\ No newline at end of file
@@ -27,7 +27,7 @@ public class Subtask extends Task {
         this.epicId = epicId;
     }
 
-    public Subtask(String name, String description, Integer id, Status status, int epicId,
+    public Subtask(String name, String description, Integer id, Status status, Integer epicId,
                    LocalDateTime startTime, Duration duration) {
         super(name, description, id, status, startTime, duration);
         this.epicId = epicId;
@@ -11,6 +11,7 @@ public class Task {
     protected Status status;
     private Duration duration;
     private LocalDateTime startTime;
+    private transient int version;
 
     public Task(String name, String description) {
         this.name = name;
@@ -108,6 +109,14 @@ public class Task {
         this.startTime = startTime;
     }
 
+    public int getVersion() {
+        return version;
+    }
+
+    public void setVersion(int version) {
+        this.version = version;
+    }
+
     public LocalDateTime getEndTime() {
         if (startTime == null || duration == null) {
             return null;
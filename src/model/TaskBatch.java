@@ -0,0 +1,43 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class TaskBatch {
+    private final List<Task> create;
+    private final List<Task> update;
+    private final List<Integer> delete;
+
+    public TaskBatch() {
+        this(new ArrayList<>(), new ArrayList<>(), new ArrayList<>());
+    }
+
+    public TaskBatch(List<Task> create, List<Task> update, List<Integer> delete) {
+        this.create = create;
+        this.update = update;
+        this.delete = delete;
+    }
+
+    public List<Task> getCreate() {
+        return create == null ? List.of() : create;
+    }
+
+    public List<Task> getUpdate() {
+        return update == null ? List.of() : update;
+    }
+
+    public List<Integer> getDelete() {
+        return delete == null ? List.of() : delete;
+    }
+
+    // New tasks have no id yet, so they are named by their position in the create list.
+    public String getEntryName(Task task) {
+        List<Task> created = getCreate();
+        for (int i = 0; i < created.size(); i++) {
+            if (created.get(i) == task) {
+                return "create[" + i + "]";
+            }
+        }
+        return String.valueOf(task.getId());
+    }
+}
\ No newline at end of file
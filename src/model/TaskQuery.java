@@ -0,0 +1,103 @@
+package model;
+
+import java.time.LocalDateTime;
+
+public class TaskQuery {
+    private final Type type;
+    private int cursor;
+    private LocalDateTime cursorTime;
+    private int limit = Integer.MAX_VALUE;
+    private Status status;
+    private LocalDateTime from;
+    private LocalDateTime to;
+
+    public TaskQuery(Type type) {
+        this.type = type;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public int getCursor() {
+        return cursor;
+    }
+
+    public void setCursor(int cursor) {
+        this.cursor = cursor;
+    }
+
+    public LocalDateTime getCursorTime() {
+        return cursorTime;
+    }
+
+    public void setCursorTime(LocalDateTime cursorTime) {
+        this.cursorTime = cursorTime;
+    }
+
+    public boolean hasTimeRange() {
+        return from != null || to != null;
+    }
+
+    // Pages of a time range follow the schedule, so their cursor is the start time and id of the last task seen.
+    // Without a cursor time such a page starts at the beginning of the range.
+    public boolean isAfterCursor(Task task) {
+        if (!hasTimeRange()) {
+            return task.getId() > cursor;
+        }
+        if (cursorTime == null) {
+            return true;
+        }
+
+        int order = task.getStartTime().compareTo(cursorTime);
+        return order > 0 || (order == 0 && task.getId() > cursor);
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public void setLimit(int limit) {
+        this.limit = limit;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public LocalDateTime getFrom() {
+        return from;
+    }
+
+    public void setFrom(LocalDateTime from) {
+        this.from = from;
+    }
+
+    public LocalDateTime getTo() {
+        return to;
+    }
+
+    public void setTo(LocalDateTime to) {
+        this.to = to;
+    }
+
+    public boolean matches(Task task) {
+        if (type != null && task.getType() != type) {
+            return false;
+        }
+        if (status != null && task.getStatus() != status) {
+            return false;
+        }
+        if (!hasTimeRange()) {
+            return true;
+        }
+
+        LocalDateTime startTime = task.getStartTime();
+        return startTime != null && (from == null || !startTime.isBefore(from))
+                && (to == null || startTime.isBefore(to));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,195 @@
+package util;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.IntConsumer;
+
+public class IntLinkedSet {
+    private static final int DEFAULT_CAPACITY = 8;
+    private static final int NONE = -1;
+
+    private int[] keys;
+    private int[] prev;
+    private int[] next;
+    private boolean[] used;
+    private int mask;
+    private int size;
+    private int head = NONE;
+    private int tail = NONE;
+
+    public IntLinkedSet() {
+        allocate(DEFAULT_CAPACITY);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean contains(int key) {
+        return indexOf(key) >= 0;
+    }
+
+    public boolean add(int key) {
+        int index = key & mask;
+        while (used[index]) {
+            if (keys[index] == key) {
+                return false;
+            }
+            index = (index + 1) & mask;
+        }
+
+        used[index] = true;
+        keys[index] = key;
+        prev[index] = tail;
+        next[index] = NONE;
+        if (tail == NONE) {
+            head = index;
+        } else {
+            next[tail] = index;
+        }
+        tail = index;
+
+        if (++size > keys.length * 3 / 4) {
+            resize();
+        }
+        return true;
+    }
+
+    public boolean remove(int key) {
+        int index = indexOf(key);
+        if (index < 0) {
+            return false;
+        }
+
+        unlink(index);
+        closeGap(index);
+        size--;
+        return true;
+    }
+
+    public void clear() {
+        Arrays.fill(used, false);
+        size = 0;
+        head = NONE;
+        tail = NONE;
+    }
+
+    public void forEach(IntConsumer action) {
+        for (int index = head; index != NONE; index = next[index]) {
+            action.accept(keys[index]);
+        }
+    }
+
+    public int[] toArray() {
+        int[] array = new int[size];
+        int i = 0;
+        for (int index = head; index != NONE; index = next[index]) {
+            array[i++] = keys[index];
+        }
+        return array;
+    }
+
+    public PrimitiveIterator.OfInt iterator() {
+        return new PrimitiveIterator.OfInt() {
+            private int index = head;
+
+            @Override
+            public boolean hasNext() {
+                return index != NONE;
+            }
+
+            @Override
+            public int nextInt() {
+                if (index == NONE) {
+                    throw new NoSuchElementException();
+                }
+                int key = keys[index];
+                index = next[index];
+                return key;
+            }
+        };
+    }
+
+    private int indexOf(int key) {
+        int index = key & mask;
+        while (used[index]) {
+            if (keys[index] == key) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+        return -1;
+    }
+
+    private void unlink(int index) {
+        if (prev[index] == NONE) {
+            head = next[index];
+        } else {
+            next[prev[index]] = next[index];
+        }
+
+        if (next[index] == NONE) {
+            tail = prev[index];
+        } else {
+            prev[next[index]] = prev[index];
+        }
+    }
+
+    private void closeGap(int gap) {
+        int index = gap;
+        while (true) {
+            index = (index + 1) & mask;
+            if (!used[index]) {
+                break;
+            }
+
+            int home = keys[index] & mask;
+            if (((index - home) & mask) >= ((index - gap) & mask)) {
+                move(index, gap);
+                gap = index;
+            }
+        }
+        used[gap] = false;
+    }
+
+    private void move(int from, int to) {
+        keys[to] = keys[from];
+        prev[to] = prev[from];
+        next[to] = next[from];
+        if (prev[from] == NONE) {
+            head = to;
+        } else {
+            next[prev[from]] = to;
+        }
+
+        if (next[from] == NONE) {
+            tail = to;
+        } else {
+            prev[next[from]] = to;
+        }
+    }
+
+    private void resize() {
+        int[] ordered = toArray();
+        allocate(keys.length * 2);
+        size = 0;
+        head = NONE;
+        tail = NONE;
+        for (int key : ordered) {
+            add(key);
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        prev = new int[capacity];
+        next = new int[capacity];
+        used = new boolean[capacity];
+        mask = capacity - 1;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,28 @@
+package util;
+
+import java.util.Arrays;
+
+public class IntList {
+    private static final int[] EMPTY = new int[0];
+
+    private int[] elements = EMPTY;
+    private int size;
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void add(int value) {
+        if (size == elements.length) {
+            elements = Arrays.copyOf(elements, Math.max(4, size * 2));
+        }
+        elements[size++] = value;
+    }
+
+    public int removeLast() {
+        if (size == 0) {
+            throw new IndexOutOfBoundsException(0);
+        }
+        return elements[--size];
+    }
+}
\ No newline at end of file
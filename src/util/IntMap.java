@@ -0,0 +1,213 @@
+package util;
+
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+public class IntMap<V> {
+    private static final int DEFAULT_CAPACITY = 16;
+    // Fibonacci hashing spreads ranges of sequential ids over the whole table instead of placing them by identity.
+    private static final int HASH_MULTIPLIER = 0x9E3779B9;
+
+    private int[] keys;
+    private Object[] values;
+    private int mask;
+    private int shift;
+    private int size;
+
+    public IntMap() {
+        allocate(DEFAULT_CAPACITY);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean containsKey(int key) {
+        return indexOf(key) >= 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(int key) {
+        int index = indexOf(key);
+        return index < 0 ? null : (V) values[index];
+    }
+
+    public V get(Integer key) {
+        return key == null ? null : get(key.intValue());
+    }
+
+    @SuppressWarnings("unchecked")
+    public V put(int key, V value) {
+        Objects.requireNonNull(value);
+        int index = getHome(key);
+        int distance = 0;
+        Object inserted = value;
+        while (values[index] != null) {
+            if (keys[index] == key) {
+                V previous = (V) values[index];
+                values[index] = inserted;
+                return previous;
+            }
+
+            int existing = getDistance(index);
+            if (existing < distance) {
+                int displacedKey = keys[index];
+                Object displaced = values[index];
+                keys[index] = key;
+                values[index] = inserted;
+                key = displacedKey;
+                inserted = displaced;
+                distance = existing;
+            }
+            index = (index + 1) & mask;
+            distance++;
+        }
+
+        keys[index] = key;
+        values[index] = inserted;
+        if (++size > values.length * 3 / 4) {
+            resize();
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V remove(int key) {
+        int index = indexOf(key);
+        if (index < 0) {
+            return null;
+        }
+
+        V previous = (V) values[index];
+        closeGap(index);
+        size--;
+        return previous;
+    }
+
+    public void clear() {
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    // Table order, which does not follow the keys. Use sortedValues() where ascending ids are needed.
+    public Collection<V> values() {
+        return new AbstractCollection<>() {
+            @Override
+            public Iterator<V> iterator() {
+                return new ValueIterator();
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    public List<V> sortedValues() {
+        long[] entries = new long[size];
+        int count = 0;
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) {
+                entries[count++] = ((long) keys[i] << 32) | i;
+            }
+        }
+        Arrays.sort(entries);
+
+        List<V> sorted = new ArrayList<>(size);
+        for (long entry : entries) {
+            sorted.add((V) values[(int) entry]);
+        }
+        return sorted;
+    }
+
+    private int indexOf(int key) {
+        int index = getHome(key);
+        int distance = 0;
+        while (values[index] != null && getDistance(index) >= distance) {
+            if (keys[index] == key) {
+                return index;
+            }
+            index = (index + 1) & mask;
+            distance++;
+        }
+        return -1;
+    }
+
+    private int getHome(int key) {
+        return (key * HASH_MULTIPLIER) >>> shift;
+    }
+
+    private int getDistance(int index) {
+        return (index - getHome(keys[index])) & mask;
+    }
+
+    private void closeGap(int gap) {
+        int index = (gap + 1) & mask;
+        while (values[index] != null && getDistance(index) > 0) {
+            keys[gap] = keys[index];
+            values[gap] = values[index];
+            gap = index;
+            index = (index + 1) & mask;
+        }
+        values[gap] = null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void resize() {
+        int[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(oldValues.length * 2);
+        size = 0;
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] != null) {
+                put(oldKeys[i], (V) oldValues[i]);
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+        shift = Integer.numberOfLeadingZeros(mask);
+    }
+
+    private class ValueIterator implements Iterator<V> {
+        private int index = nextIndex(0);
+
+        @Override
+        public boolean hasNext() {
+            return index < values.length;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public V next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            V value = (V) values[index];
+            index = nextIndex(index + 1);
+            return value;
+        }
+
+        private int nextIndex(int from) {
+            while (from < values.length && values[from] == null) {
+                from++;
+            }
+            return from;
+        }
+    }
+}
\ No newline at end of file
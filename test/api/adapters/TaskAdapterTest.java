@@ -0,0 +1,86 @@
+package api.adapters;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonSerializer;
+import model.Epic;
+import model.Status;
+import model.Subtask;
+import model.Task;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import util.IntLinkedSet;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static api.Utils.getGson;
+import static api.Utils.warmUpGson;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+@DisplayName("JSON-кодек задач")
+class TaskAdapterTest {
+    private final Gson gson = getGson();
+    private final Gson reflectiveGson = new GsonBuilder()
+            .serializeNulls()
+            .registerTypeAdapter(LocalDateTime.class, new LocalDateTimeAdapter())
+            .registerTypeAdapter(Duration.class, new DurationAdapter())
+            .registerTypeAdapter(IntLinkedSet.class, (JsonSerializer<IntLinkedSet>) (set, type, context) -> {
+                JsonArray array = new JsonArray();
+                set.forEach(id -> array.add(id));
+                return array;
+            })
+            .create();
+
+    @Test
+    @DisplayName("Кодек пишет тот же JSON, что и сериализация через рефлексию")
+    void write_returnSameJsonAsReflection() {
+        Epic epic = new Epic("Эпик", "Описание \"в кавычках\"", 2);
+        epic.getSubTasks().add(3);
+        epic.getSubTasks().add(4);
+        epic.setEndTime(LocalDateTime.of(2025, 11, 10, 14, 5));
+        List<Task> tasks = List.of(
+                new Task("Test", null, 1, Status.IN_PROGRESS, LocalDateTime.of(2025, 1, 2, 3, 4),
+                        Duration.ofMinutes(45)),
+                new Task("Test", "test", Status.NEW),
+                new Subtask("Test", "test", 3, Status.DONE, 2, null, null),
+                new Subtask("Test", "test", 4, Status.NEW, 2, LocalDateTime.of(2025, 12, 31, 23, 59),
+                        Duration.ofMinutes(60)),
+                epic,
+                new Epic("Test", "test"));
+
+        for (Task task : tasks) {
+            assertEquals(reflectiveGson.toJson(task, task.getClass()), gson.toJson(task, task.getClass()));
+        }
+    }
+
+    @Test
+    @DisplayName("Кодек читает JSON так же, как сериализация через рефлексию")
+    void read_returnSameTaskAsReflection() {
+        String json = "{\"epicId\":2,\"name\":\"Test\",\"unknown\":[1,{\"a\":2}],\"description\":null,"
+                + "\"id\":3,\"status\":\"DONE\",\"duration\":\"90\",\"startTime\":\"10.11.2025 12:00\"}";
+
+        Subtask expected = reflectiveGson.fromJson(json, Subtask.class);
+        Subtask actual = gson.fromJson(json, Subtask.class);
+
+        assertEquals(reflectiveGson.toJson(expected), gson.toJson(actual));
+        assertEquals(expected.getEndTime(), actual.getEndTime());
+
+        String epicJson = gson.toJson(gson.fromJson("{\"subTasks\":[5,6],\"endTime\":\"null\",\"name\":\"Test\","
+                + "\"id\":7,\"status\":\"NEW\",\"duration\":0,\"startTime\":\"null\"}", Epic.class));
+        assertEquals("{\"subTasks\":[5,6],\"endTime\":\"null\",\"name\":\"Test\",\"description\":null,\"id\":7,"
+                + "\"status\":\"NEW\",\"duration\":0,\"startTime\":\"null\"}", epicJson);
+    }
+
+    @Test
+    @DisplayName("Все обработчики используют один прогретый экземпляр Gson")
+    void getGson_returnSharedInstance() {
+        warmUpGson();
+
+        assertSame(gson, getGson());
+        assertSame(gson.getAdapter(Epic.class), getGson().getAdapter(Epic.class));
+    }
+}
\ No newline at end of file
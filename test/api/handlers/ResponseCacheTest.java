@@ -0,0 +1,59 @@
+package api.handlers;
+
+import com.google.gson.Gson;
+import manager.history.InMemoryHistoryManager;
+import manager.task.InMemoryTaskManager;
+import model.Status;
+import model.Task;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static api.Utils.getGson;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+@DisplayName("Кэш ответов со списками задач")
+class ResponseCacheTest {
+    private final Gson gson = getGson();
+    private final InMemoryTaskManager manager = new InMemoryTaskManager(new InMemoryHistoryManager());
+    private final AtomicInteger reads = new AtomicInteger();
+    private final Supplier<List<? extends Task>> source = () -> {
+        reads.incrementAndGet();
+        return manager.getAllTasks();
+    };
+
+    @Test
+    @DisplayName("Без изменений менеджера тело берется из кэша без чтения списка")
+    void getEntry_withoutChanges_returnCachedBody() {
+        ResponseCache cache = new ResponseCache();
+        manager.createTask(new Task("Test", "Test", Status.NEW));
+
+        ResponseCache.Entry first = cache.getEntry(gson, manager, source);
+        ResponseCache.Entry second = cache.getEntry(gson, manager, source);
+
+        assertSame(first, second);
+        assertEquals(1, reads.get());
+        assertEquals(gson.toJson(manager.getAllTasks()), new String(second.getBody(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("После изменения менеджера тело и ETag кодируются заново")
+    void getEntry_afterChange_returnNewBody() {
+        ResponseCache cache = new ResponseCache();
+        manager.createTask(new Task("Test", "Test", Status.NEW));
+        ResponseCache.Entry first = cache.getEntry(gson, manager, source);
+
+        manager.createTask(new Task("Test", "Test", Status.NEW));
+        ResponseCache.Entry second = cache.getEntry(gson, manager, source);
+
+        assertEquals(2, reads.get());
+        assertNotEquals(first.getEtag(), second.getEtag());
+        assertEquals(gson.toJson(manager.getAllTasks()), new String(second.getBody(), StandardCharsets.UTF_8));
+    }
+}
\ No newline at end of file
@@ -9,6 +9,7 @@ import model.Epic;
 import model.Status;
 import model.Subtask;
 import model.Task;
+import model.TaskBatch;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -21,9 +22,15 @@ import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static api.Utils.getGson;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 
@@ -413,6 +420,31 @@ class HttpTaskServerTest {
         assertEqualsTask(historyFromServer.getFirst(), historyFromServer.getFirst());
     }
 
+    @Test
+    @DisplayName("Должен ограничить историю и отклонить неподдерживаемые параметры")
+    void GET_shouldReturnLimitedHistory() throws IOException, InterruptedException {
+        //given
+        for (int i = 0; i < 3; i++) {
+            Task task = manager.createTask(new Task("Test" + i, "Testing tasks", Status.NEW));
+            manager.getTask(task.getId());
+        }
+
+        //that
+        HttpResponse<String> response = setup(HttpClient.newHttpClient(), null,
+                "http://localhost:8080/history?limit=2", "GET");
+        HttpResponse<String> cursorResponse = setup(HttpClient.newHttpClient(), null,
+                "http://localhost:8080/history?cursor=1", "GET");
+        HttpResponse<String> statusResponse = setup(HttpClient.newHttpClient(), null,
+                "http://localhost:8080/history?limit=2&status=NEW", "GET");
+        List<Task> historyFromServer = gson.fromJson(response.body(), new TaskTypeToken().getType());
+
+        //then
+        assertEquals(200, response.statusCode());
+        assertEquals(2, historyFromServer.size());
+        assertEquals(400, cursorResponse.statusCode());
+        assertEquals(400, statusResponse.statusCode());
+    }
+
     @Test
     @DisplayName("Должен вернуть список приоритетных задач")
     void GET_shouldReturnPrioritizedTasks() throws IOException, InterruptedException {
@@ -477,6 +509,271 @@ class HttpTaskServerTest {
         assertEqualsTask(task, tasksFromManager.getFirst());
     }
 
+    @Test
+    @DisplayName("Эпик с разным id в URL и теле запроса не обновится")
+    void POST_shouldNotUpdateEpicWithDifferentIdInURLAndBody() throws IOException, InterruptedException {
+        //given
+        Epic epic = manager.createEpic(new Epic("Test", "Testing epic"));
+        Epic other = manager.createEpic(new Epic("Other", "Testing epic"));
+
+        //that
+        HttpResponse<String> response = setup(HttpClient.newHttpClient(),
+                new Epic("Updated", "updated", other.getId()), "http://localhost:8080/epics/" + epic.getId(), "POST");
+
+        //then
+        assertEquals(400, response.statusCode());
+        assertEquals("id указан неверно или null", response.body());
+        assertEquals("Other", manager.getEpic(other.getId()).getName());
+        assertEquals(1, manager.getEpic(other.getId()).getVersion());
+    }
+
+    @Test
+    @DisplayName("Сервер с виртуальными потоками обрабатывает параллельные запросы")
+    void POST_virtualThreadExecutor_shouldCreateAllTasks() throws Exception {
+        //given
+        HttpTaskServer concurrentServer = new HttpTaskServer(manager, 8081, 64);
+        concurrentServer.start();
+        List<Future<HttpResponse<String>>> responses = new ArrayList<>();
+
+        //that
+        try (ExecutorService clients = Executors.newFixedThreadPool(16)) {
+            for (int i = 0; i < 100; i++) {
+                Task task = new Task("Test" + i, "Testing task", Status.NEW);
+                responses.add(clients.submit(() -> setup(HttpClient.newHttpClient(), task,
+                        "http://localhost:8081/tasks", "POST")));
+            }
+            for (Future<HttpResponse<String>> response : responses) {
+                assertEquals(201, response.get().statusCode());
+            }
+        } finally {
+            concurrentServer.stop();
+        }
+
+        //then
+        assertEquals(100, manager.getAllTasks().size());
+    }
+
+    @Test
+    @DisplayName("Остановка сервера не завершает переданный исполнитель")
+    void stop_callerExecutor_executorNotShutDown() throws IOException {
+        try (ExecutorService executor = Executors.newFixedThreadPool(2)) {
+            HttpTaskServer concurrentServer = new HttpTaskServer(manager, 8081, 0, executor);
+            concurrentServer.start();
+
+            concurrentServer.stop();
+
+            assertFalse(executor.isShutdown());
+        }
+    }
+
+    @Test
+    @DisplayName("Должен вернуть страницу задач по курсору и лимиту")
+    void GET_shouldReturnTasksPage() throws IOException, InterruptedException {
+        //given
+        for (int i = 0; i < 5; i++) {
+            manager.createTask(new Task("Test" + i, "Testing tasks", i % 2 == 0 ? Status.NEW : Status.DONE));
+        }
+
+        //that
+        HttpResponse<String> response = setup(HttpClient.newHttpClient(), null,
+                "http://localhost:8080/tasks?cursor=1&limit=2&status=NEW", "GET");
+        HttpResponse<String> badResponse = setup(HttpClient.newHttpClient(), null,
+                "http://localhost:8080/tasks?limit=0", "GET");
+        HttpResponse<String> negativeCursorResponse = setup(HttpClient.newHttpClient(), null,
+                "http://localhost:8080/tasks?cursor=-1", "GET");
+        List<Task> tasksFromServer = gson.fromJson(response.body(), new TaskTypeToken().getType());
+
+        //then
+        assertEquals(200, response.statusCode());
+        assertEquals(List.of(3, 5), tasksFromServer.stream().map(Task::getId).toList());
+        assertEquals(400, badResponse.statusCode());
+        assertEquals(400, negativeCursorResponse.statusCode());
+    }
+
+    @Test
+    @DisplayName("Должен вернуть страницу задач из временного окна по времени начала и курсору")
+    void GET_shouldReturnTimeRangePageByCursor() throws IOException, InterruptedException {
+        //given
+        for (int i = 0; i < 3; i++) {
+            manager.createTask(new Task("Test" + i, "Testing tasks", Status.NEW,
+                    LocalDateTime.of(2025, 11, 24 - i * 7, 12, 0), Duration.ofMinutes(60)));
+        }
+
+        //that
+        HttpResponse<String> response = setup(HttpClient.newHttpClient(), null,
+                "http://localhost:8080/tasks?from=01.11.2025%2000:00&limit=2", "GET");
+        HttpResponse<String> nextResponse = setup(HttpClient.newHttpClient(), null,
+                "http://localhost:8080/tasks?from=01.11.2025%2000:00&cursor=2&cursorTime=17.11.2025%2012:00",
+                "GET");
+        HttpResponse<String> noTimeResponse = setup(HttpClient.newHttpClient(), null,
+                "http://localhost:8080/tasks?from=01.11.2025%2000:00&cursor=2", "GET");
+        HttpResponse<String> noRangeResponse = setup(HttpClient.newHttpClient(), null,
+                "http://localhost:8080/tasks?cursor=2&cursorTime=17.11.2025%2012:00", "GET");
+        List<Task> tasksFromServer = gson.fromJson(response.body(), new TaskTypeToken().getType());
+        List<Task> nextFromServer = gson.fromJson(nextResponse.body(), new TaskTypeToken().getType());
+
+        //then
+        assertEquals(List.of(3, 2), tasksFromServer.stream().map(Task::getId).toList());
+        assertEquals(List.of(1), nextFromServer.stream().map(Task::getId).toList());
+        assertEquals(400, noTimeResponse.statusCode());
+        assertEquals(400, noRangeResponse.statusCode());
+    }
+
+    @Test
+    @DisplayName("Должен вернуть приоритетные задачи из временного окна")
+    void GET_shouldReturnPrioritizedTasksInWindow() throws IOException, InterruptedException {
+        //given
+        for (int i = 0; i < 3; i++) {
+            manager.createTask(new Task("Test" + i, "Testing tasks", Status.NEW,
+                    LocalDateTime.of(2025, 11, 10 + i * 7, 12, 0), Duration.ofMinutes(60)));
+        }
+
+        //that
+        HttpResponse<String> response = setup(HttpClient.newHttpClient(), null,
+                "http://localhost:8080/prioritized?from=17.11.2025%2000:00&to=24.11.2025%2000:00", "GET");
+        HttpResponse<String> reversedResponse = setup(HttpClient.newHttpClient(), null,
+                "http://localhost:8080/prioritized?from=24.11.2025%2000:00&to=17.11.2025%2000:00", "GET");
+        HttpResponse<String> limitResponse = setup(HttpClient.newHttpClient(), null,
+                "http://localhost:8080/prioritized?from=17.11.2025%2000:00&limit=1", "GET");
+        List<Task> tasksFromServer = gson.fromJson(response.body(), new TaskTypeToken().getType());
+
+        //then
+        assertEquals(200, response.statusCode());
+        assertEquals(List.of(2), tasksFromServer.stream().map(Task::getId).toList());
+        assertEquals(400, reversedResponse.statusCode());
+        assertEquals(400, limitResponse.statusCode());
+    }
+
+    @Test
+    @DisplayName("Должен применить пакет задач и вернуть созданные")
+    void POST_shouldApplyTasksBatch() throws IOException, InterruptedException {
+        //given
+        Task task = manager.createTask(new Task("Test", "Testing task", Status.NEW,
+                LocalDateTime.of(2025, 11, 10, 12, 0), Duration.ofMinutes(60)));
+        TaskBatch batch = new TaskBatch(List.of(new Task("Test", "Testing task", Status.NEW,
+                LocalDateTime.of(2025, 11, 10, 12, 0), Duration.ofMinutes(60)),
+                new Task("Test", "Testing task", Status.NEW)), List.of(), List.of(task.getId()));
+        TaskBatch duplicated = new TaskBatch(List.of(), List.of(), List.of(2, 2));
+        TaskBatch withNull = new TaskBatch(List.of(), List.of(), Arrays.asList(task.getId(), null));
+
+        //that
+        HttpResponse<String> response = setup(HttpClient.newHttpClient(), batch,
+                "http://localhost:8080/tasks/batch", "POST");
+        HttpResponse<String> badResponse = setup(HttpClient.newHttpClient(), duplicated,
+                "http://localhost:8080/tasks/batch", "POST");
+        HttpResponse<String> nullResponse = setup(HttpClient.newHttpClient(), null,
+                "http://localhost:8080/tasks/batch", "POST");
+        HttpResponse<String> nullEntryResponse = setup(HttpClient.newHttpClient(), withNull,
+                "http://localhost:8080/tasks/batch", "POST");
+        List<Task> tasksFromServer = gson.fromJson(response.body(), new TaskTypeToken().getType());
+
+        //then
+        assertEquals(200, response.statusCode());
+        assertEquals(List.of(2, 3), tasksFromServer.stream().map(Task::getId).toList());
+        assertEquals(2, manager.getAllTasks().size());
+        assertEquals(400, badResponse.statusCode());
+        assertEquals(400, nullResponse.statusCode());
+        assertEquals(400, nullEntryResponse.statusCode());
+    }
+
+    @Test
+    @DisplayName("Должен вернуть 304 для неизмененного списка задач по ETag")
+    void GET_shouldReturnNotModifiedForSameEtag() throws IOException, InterruptedException {
+        //given
+        manager.createTask(new Task("Test", "Testing task", Status.NEW));
+        HttpResponse<String> response = setup(HttpClient.newHttpClient(), null, "http://localhost:8080/tasks",
+                "GET");
+        String etag = response.headers().firstValue("ETag").orElseThrow();
+
+        //that
+        HttpResponse<String> notModified = sendWithEtag("http://localhost:8080/tasks", etag);
+        manager.createTask(new Task("Test", "Testing task", Status.NEW));
+        HttpResponse<String> modified = sendWithEtag("http://localhost:8080/tasks", etag);
+        List<Task> tasksFromServer = gson.fromJson(modified.body(), new TaskTypeToken().getType());
+
+        //then
+        assertEquals(200, response.statusCode());
+        assertEquals(304, notModified.statusCode());
+        assertEquals(200, modified.statusCode());
+        assertEquals(2, tasksFromServer.size());
+    }
+
+    @Test
+    @DisplayName("Должен изменить ETag истории после изменения просмотренного эпика")
+    void GET_shouldReturnChangedHistoryAfterEpicUpdate() throws IOException, InterruptedException {
+        //given
+        Epic epic = manager.createEpic(new Epic("Test", "Testing epic"));
+        setup(HttpClient.newHttpClient(), null, "http://localhost:8080/epics/" + epic.getId(), "GET");
+        HttpResponse<String> response = setup(HttpClient.newHttpClient(), null, "http://localhost:8080/history",
+                "GET");
+        String etag = response.headers().firstValue("ETag").orElseThrow();
+
+        //that
+        HttpResponse<String> notModified = sendWithEtag("http://localhost:8080/history", etag);
+        setup(HttpClient.newHttpClient(), new Epic("Updated", "Testing epic", epic.getId()),
+                "http://localhost:8080/epics/" + epic.getId(), "POST");
+        HttpResponse<String> updated = sendWithEtag("http://localhost:8080/history", etag);
+        String updatedEtag = updated.headers().firstValue("ETag").orElseThrow();
+        manager.createSubTask(new Subtask("Test", "Testing subtask", Status.DONE, epic.getId()));
+        HttpResponse<String> withSubtask = sendWithEtag("http://localhost:8080/history", updatedEtag);
+        List<Epic> history = gson.fromJson(withSubtask.body(), new TypeToken<List<Epic>>() {
+        }.getType());
+
+        //then
+        assertEquals(304, notModified.statusCode());
+        assertEquals(200, updated.statusCode());
+        assertEquals(200, withSubtask.statusCode());
+        assertEquals("Updated", history.getFirst().getName());
+        assertEquals(Status.DONE, history.getFirst().getStatus());
+    }
+
+    @Test
+    @DisplayName("Должен вернуть 304 для неизмененной задачи и 412 при обновлении устаревшей версии")
+    void POST_shouldRejectStaleIfMatch() throws IOException, InterruptedException {
+        //given
+        Task task = manager.createTask(new Task("Test", "Testing task", Status.NEW));
+        String uri = "http://localhost:8080/tasks/" + task.getId();
+        HttpResponse<String> response = setup(HttpClient.newHttpClient(), null, uri, "GET");
+        String etag = response.headers().firstValue("ETag").orElseThrow();
+
+        //that
+        HttpResponse<String> notModified = sendWithEtag(uri, etag);
+        HttpResponse<String> updated = sendWithIfMatch(uri, etag,
+                new Task("Updated", "Testing task", task.getId(), Status.DONE));
+        HttpResponse<String> conflict = sendWithIfMatch(uri, etag,
+                new Task("Stale", "Testing task", task.getId(), Status.NEW));
+
+        //then
+        assertEquals(304, notModified.statusCode());
+        assertEquals(201, updated.statusCode());
+        assertEquals("\"2\"", updated.headers().firstValue("ETag").orElseThrow());
+        assertEquals(412, conflict.statusCode());
+        assertEquals("Updated", manager.getTask(task.getId()).getName());
+    }
+
+    private HttpResponse<String> sendWithIfMatch(String uri, String etag, Task task)
+            throws IOException, InterruptedException {
+        try (HttpClient client = HttpClient.newHttpClient()) {
+            HttpRequest request = HttpRequest.newBuilder()
+                    .uri(URI.create(uri))
+                    .header("If-Match", etag)
+                    .POST(HttpRequest.BodyPublishers.ofString(gson.toJson(task)))
+                    .build();
+            return client.send(request, HttpResponse.BodyHandlers.ofString());
+        }
+    }
+
+    private HttpResponse<String> sendWithEtag(String uri, String etag) throws IOException, InterruptedException {
+        try (HttpClient client = HttpClient.newHttpClient()) {
+            HttpRequest request = HttpRequest.newBuilder()
+                    .uri(URI.create(uri))
+                    .header("If-None-Match", etag)
+                    .GET()
+                    .build();
+            return client.send(request, HttpResponse.BodyHandlers.ofString());
+        }
+    }
+
     public static void assertEqualsTask(Task expected, Task actual) {
         if (expected.getId() != null && actual.getId() != null) {
             assertEquals(expected.getId(), actual.getId(), "Некорректный id задачи");
@@ -487,7 +784,7 @@ class HttpTaskServerTest {
         assertEquals(expected.getStatus(), actual.getStatus(), "Некорректный статус задачи");
     }
 
-    private HttpResponse<String> setup(HttpClient client, Task task, String uri, String method)
+    private HttpResponse<String> setup(HttpClient client, Object body, String uri, String method)
             throws IOException, InterruptedException {
 
         try (client) {
@@ -501,7 +798,7 @@ class HttpTaskServerTest {
                         .GET()
                         .build();
             } else if (method.equals("POST")) {
-                String taskJson = gson.toJson(task);
+                String taskJson = gson.toJson(body);
                 request = HttpRequest.newBuilder()
                         .uri(url)
                         .POST(HttpRequest.BodyPublishers.ofString(taskJson))
@@ -1,11 +1,15 @@
 package manager;
 
 import exception.ValidationException;
+import exception.VersionConflictException;
 import manager.task.TaskManager;
 import model.Epic;
 import model.Status;
 import model.Subtask;
 import model.Task;
+import model.TaskBatch;
+import model.TaskQuery;
+import model.Type;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -15,13 +19,20 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
 @DisplayName("Общий абстрактный класс")
 public abstract class TaskManagerTest<T extends TaskManager> {
-    T manager;
+    protected T manager;
 
     protected abstract T createManager();
 
+    // Managers that store their own copy of a task do not change the instances passed to them, so the checks
+    // made through those instances are skipped for them.
+    protected boolean keepsPassedInstances() {
+        return true;
+    }
+
 
     @BeforeEach
     void init() {
@@ -180,6 +191,7 @@ public abstract class TaskManagerTest<T extends TaskManager> {
     @Test
     @DisplayName("Должен обновить подзадачу и обновить статус эпика")
     void updateSubTask_shouldUpdateSubtaskAndEpicStatus() {
+        assumeTrue(keepsPassedInstances());
         Epic epic = manager.createEpic(new Epic("Test", "test"));
         Subtask subtask = manager.createSubTask(new Subtask("test", "test", Status.NEW, epic.getId(),
                 LocalDateTime.now(), Duration.ofMinutes(60)));
@@ -207,6 +219,312 @@ public abstract class TaskManagerTest<T extends TaskManager> {
         assertEquals(0, manager.getEpicSubTasks(epic).size());
     }
 
+    @Test
+    @DisplayName("Подзадача переносится в другой эпик при обновлении")
+    void updateSubTask_anotherEpic_returnSubtaskInNewEpic() {
+        assumeTrue(keepsPassedInstances());
+        Epic epic = manager.createEpic(new Epic("Test", "test"));
+        Epic newEpic = manager.createEpic(new Epic("Test2", "test"));
+        Subtask subtask = manager.createSubTask(new Subtask("test", "test", Status.NEW, epic.getId()));
+
+        manager.updateSubTask(new Subtask("test", "test", subtask.getId(), Status.DONE, newEpic.getId()));
+
+        assertTrue(manager.getEpicSubTasks(epic).isEmpty());
+        assertEquals(1, manager.getEpicSubTasks(newEpic).size());
+        assertEquals(subtask.getId(), manager.getEpicSubTasks(newEpic).getFirst().getId());
+        assertEquals(Status.NEW, epic.getStatus());
+        assertEquals(Status.DONE, newEpic.getStatus());
+    }
+
+    @Test
+    @DisplayName("Подзадачи удаленного эпика удаляются из списка приоритетных задач")
+    void deleteEpic_returnPrioritizedWithoutSubtasks() {
+        Epic epic = manager.createEpic(new Epic("Test", "test"));
+        manager.createSubTask(new Subtask("test", "test", Status.NEW, epic.getId(),
+                LocalDateTime.of(2025, 11, 10, 12, 0), Duration.ofMinutes(60)));
+
+        manager.deleteEpic(epic.getId());
+
+        assertTrue(manager.getAllSubtasks().isEmpty());
+        assertTrue(manager.getPrioritizedTasks().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Задача без времени удаляется, когда в списке приоритетных задач есть другие задачи")
+    void deleteTask_withoutStartTime_taskDeleted() {
+        manager.createTask(new Task("", "", Status.NEW,
+                LocalDateTime.of(2025, 11, 10, 12, 0), Duration.ofMinutes(60)));
+        Task task = manager.createTask(new Task("Test", "test", Status.NEW));
+
+        manager.deleteTask(task.getId());
+
+        assertEquals(1, manager.getAllTasks().size());
+        assertEquals(1, manager.getPrioritizedTasks().size());
+    }
+
+    @Test
+    @DisplayName("Должен вернуть страницу задач после курсора с учетом фильтров")
+    void findTasks_cursorAndFilters_returnMatchingPage() {
+        Task first = manager.createTask(new Task("Test", "test", Status.NEW,
+                LocalDateTime.of(2025, 11, 10, 12, 0), Duration.ofMinutes(60)));
+        Epic epic = manager.createEpic(new Epic("Test", "test"));
+        Task second = manager.createTask(new Task("Test", "test", Status.DONE,
+                LocalDateTime.of(2025, 11, 11, 12, 0), Duration.ofMinutes(60)));
+        Task third = manager.createTask(new Task("Test", "test", Status.NEW));
+        Task fourth = manager.createTask(new Task("Test", "test", Status.NEW,
+                LocalDateTime.of(2025, 11, 12, 12, 0), Duration.ofMinutes(60)));
+
+        TaskQuery page = new TaskQuery(Type.TASK);
+        page.setCursor(first.getId());
+        page.setLimit(2);
+        TaskQuery byStatus = new TaskQuery(Type.TASK);
+        byStatus.setStatus(Status.NEW);
+        TaskQuery byTime = new TaskQuery(null);
+        byTime.setFrom(LocalDateTime.of(2025, 11, 11, 0, 0));
+        byTime.setTo(LocalDateTime.of(2025, 11, 12, 12, 0));
+
+        assertEquals(List.of(second, third), manager.findTasks(page));
+        assertEquals(List.of(first, third, fourth), manager.findTasks(byStatus));
+        assertEquals(List.of(second), manager.findTasks(byTime));
+        assertEquals(List.of(epic), manager.findTasks(new TaskQuery(Type.EPIC)));
+    }
+
+    @Test
+    @DisplayName("Страница по времени идет в порядке начала, курсор - время начала и id последней задачи")
+    void findTasks_timeRangeWithCursor_returnPageInScheduleOrder() {
+        Epic epic = manager.createEpic(new Epic("Test", "test"));
+        Task late = manager.createTask(new Task("Test", "test", Status.NEW,
+                LocalDateTime.of(2025, 11, 10, 15, 0), Duration.ofMinutes(60)));
+        Subtask subtask = manager.createSubTask(new Subtask("Test", "test", Status.NEW, epic.getId(),
+                LocalDateTime.of(2025, 11, 10, 14, 0), Duration.ofMinutes(30)));
+        Task early = manager.createTask(new Task("Test", "test", Status.NEW,
+                LocalDateTime.of(2025, 11, 10, 12, 0), Duration.ofMinutes(60)));
+        manager.createTask(new Task("Test", "test", Status.NEW,
+                LocalDateTime.of(2025, 11, 10, 18, 0), Duration.ofMinutes(60)));
+
+        TaskQuery page = new TaskQuery(null);
+        page.setFrom(LocalDateTime.of(2025, 11, 10, 12, 0));
+        page.setTo(LocalDateTime.of(2025, 11, 10, 18, 0));
+        page.setLimit(2);
+        TaskQuery epics = new TaskQuery(Type.EPIC);
+        epics.setFrom(LocalDateTime.of(2025, 11, 10, 14, 0));
+        TaskQuery reversed = new TaskQuery(Type.TASK);
+        reversed.setFrom(LocalDateTime.of(2025, 11, 10, 18, 0));
+        reversed.setTo(LocalDateTime.of(2025, 11, 10, 12, 0));
+
+        assertEquals(List.of(early, epic), manager.findTasks(page));
+        page.setCursor(epic.getId());
+        page.setCursorTime(subtask.getStartTime());
+        assertEquals(List.of(subtask, late), manager.findTasks(page));
+        page.setCursor(late.getId());
+        page.setCursorTime(late.getStartTime());
+        assertEquals(List.of(), manager.findTasks(page));
+        assertEquals(List.of(epic), manager.findTasks(epics));
+        assertEquals(List.of(), manager.findTasks(reversed));
+    }
+
+    @Test
+    @DisplayName("Курсор на максимальном id возвращает пустую страницу")
+    void findTasks_maxCursor_returnEmptyPage() {
+        manager.createTask(new Task("Test", "test", Status.NEW));
+        TaskQuery query = new TaskQuery(null);
+        query.setCursor(Integer.MAX_VALUE);
+
+        assertEquals(List.of(), manager.findTasks(query));
+    }
+
+    @Test
+    @DisplayName("Должен вернуть задачи из временного окна, включая начавшуюся раньше")
+    void getPrioritizedTasks_timeWindow_returnOverlappingTasks() {
+        Task before = manager.createTask(new Task("Test", "test", Status.NEW,
+                LocalDateTime.of(2025, 11, 9, 12, 0), Duration.ofMinutes(60)));
+        Task overlapping = manager.createTask(new Task("Test", "test", Status.NEW,
+                LocalDateTime.of(2025, 11, 9, 23, 30), Duration.ofMinutes(60)));
+        Task inside = manager.createTask(new Task("Test", "test", Status.NEW,
+                LocalDateTime.of(2025, 11, 12, 12, 0), Duration.ofMinutes(60)));
+        manager.createTask(new Task("Test", "test", Status.NEW,
+                LocalDateTime.of(2025, 11, 17, 0, 0), Duration.ofMinutes(60)));
+
+        List<Task> week = manager.getPrioritizedTasks(LocalDateTime.of(2025, 11, 10, 0, 0),
+                LocalDateTime.of(2025, 11, 17, 0, 0));
+
+        assertEquals(List.of(overlapping, inside), week);
+        assertEquals(List.of(before, overlapping), manager.getPrioritizedTasks(null,
+                LocalDateTime.of(2025, 11, 10, 0, 0)));
+    }
+
+    @Test
+    @DisplayName("Окно, в котором начало позже конца, пустое")
+    void getPrioritizedTasks_reversedWindow_returnEmptyList() {
+        manager.createTask(new Task("Test", "test", Status.NEW,
+                LocalDateTime.of(2025, 11, 9, 23, 30), Duration.ofMinutes(60)));
+        manager.createTask(new Task("Test", "test", Status.NEW,
+                LocalDateTime.of(2025, 11, 12, 12, 0), Duration.ofMinutes(60)));
+
+        assertEquals(List.of(), manager.getPrioritizedTasks(LocalDateTime.of(2025, 11, 10, 0, 0),
+                LocalDateTime.of(2025, 11, 9, 0, 0)));
+    }
+
+    @Test
+    @DisplayName("Пакет применяется целиком: задачи могут занять освобождаемое в пакете время")
+    void applyBatch_swapAndDelete_returnCreatedTasks() {
+        Task first = manager.createTask(new Task("Test", "test", Status.NEW,
+                LocalDateTime.of(2025, 11, 10, 12, 0), Duration.ofMinutes(60)));
+        Task second = manager.createTask(new Task("Test", "test", Status.NEW,
+                LocalDateTime.of(2025, 11, 10, 14, 0), Duration.ofMinutes(60)));
+        Task deleted = manager.createTask(new Task("Test", "test", Status.NEW,
+                LocalDateTime.of(2025, 11, 10, 16, 0), Duration.ofMinutes(60)));
+
+        Task created = new Task("Created", "test", Status.NEW, LocalDateTime.of(2025, 11, 10, 16, 30),
+                Duration.ofMinutes(60));
+        List<Task> result = manager.applyBatch(new TaskBatch(List.of(created),
+                List.of(new Task("Test", "test", first.getId(), Status.DONE, LocalDateTime.of(2025, 11, 10, 14, 0),
+                                Duration.ofMinutes(60)),
+                        new Task("Test", "test", second.getId(), Status.NEW, LocalDateTime.of(2025, 11, 10, 12, 0),
+                                Duration.ofMinutes(60))),
+                List.of(deleted.getId())));
+
+        assertEquals(1, result.size());
+        assertEquals(3, manager.getAllTasks().size());
+        assertEquals(Status.DONE, manager.getTask(first.getId()).getStatus());
+        assertEquals(List.of(second.getId(), first.getId(), result.getFirst().getId()),
+                manager.getPrioritizedTasks().stream().map(Task::getId).toList());
+    }
+
+    @Test
+    @DisplayName("Пакет с пересечением по времени не применяется")
+    void applyBatch_returnValidationException_overlappingTasks() {
+        Task task = manager.createTask(new Task("Test", "test", Status.NEW,
+                LocalDateTime.of(2025, 11, 10, 12, 0), Duration.ofMinutes(60)));
+
+        ValidationException inBatch = assertThrows(ValidationException.class, () -> manager.applyBatch(new TaskBatch(
+                List.of(new Task("Test", "test", Status.NEW, LocalDateTime.of(2025, 11, 10, 14, 0),
+                                Duration.ofMinutes(60)),
+                        new Task("Test", "test", Status.NEW, LocalDateTime.of(2025, 11, 10, 14, 30),
+                                Duration.ofMinutes(60))),
+                List.of(), List.of(task.getId()))));
+        ValidationException withStored = assertThrows(ValidationException.class, () -> manager.applyBatch(
+                new TaskBatch(List.of(new Task("Test", "test", Status.NEW, LocalDateTime.of(2025, 11, 10, 12, 30),
+                        Duration.ofMinutes(60))), List.of(), List.of())));
+
+        assertTrue(inBatch.getMessage().endsWith("create[0], create[1]"));
+        assertTrue(withStored.getMessage().endsWith("create[0], " + task.getId()));
+
+        assertEquals(List.of(task), manager.getAllTasks());
+        assertEquals(1, manager.getPrioritizedTasks().size());
+    }
+
+    @Test
+    @DisplayName("Пакет с подзадачей или эпиком не применяется")
+    void applyBatch_returnValidationException_notTaskType() {
+        Task task = manager.createTask(new Task("Test", "test", Status.NEW));
+        Epic epic = manager.createEpic(new Epic("Test", "test"));
+
+        assertThrows(ValidationException.class, () -> manager.applyBatch(new TaskBatch(
+                List.of(new Task("Test", "test", Status.NEW), new Subtask("Test", "test", epic.getId())),
+                List.of(), List.of(task.getId()))));
+        assertThrows(ValidationException.class, () -> manager.applyBatch(new TaskBatch(
+                List.of(), List.of(new Epic("Test", "test", task.getId())), List.of())));
+
+        assertEquals(List.of(task), manager.getAllTasks());
+        assertEquals(List.of(), manager.getAllSubtasks());
+        assertEquals(List.of(epic), manager.getAllEpics());
+    }
+
+    @Test
+    @DisplayName("Полученный список эпиков не меняется при изменении подзадач")
+    void getAllEpics_afterSubtaskChange_returnUnchangedEpics() {
+        Epic epic = manager.createEpic(new Epic("Test", "test"));
+        List<Epic> epics = manager.getAllEpics();
+
+        manager.createSubTask(new Subtask("Test", "test", Status.DONE, epic.getId(),
+                LocalDateTime.of(2025, 11, 10, 12, 0), Duration.ofMinutes(60)));
+        manager.updateEpic(new Epic("Updated", "test", epic.getId()));
+
+        assertEquals("Test", epics.getFirst().getName());
+        assertEquals(Status.NEW, epics.getFirst().getStatus());
+        assertNull(epics.getFirst().getStartTime());
+        assertTrue(epics.getFirst().getSubTasks().isEmpty());
+        assertEquals("Updated", manager.getAllEpics().getFirst().getName());
+        assertEquals(Status.DONE, manager.getAllEpics().getFirst().getStatus());
+    }
+
+    @Test
+    @DisplayName("Полученный, найденный и сохраненный в истории эпик не меняется при изменении подзадач")
+    void getEpic_afterSubtaskChange_returnUnchangedEpic() {
+        Epic epic = manager.createEpic(new Epic("Test", "test"));
+        Epic received = manager.getEpic(epic.getId());
+        List<Task> history = manager.getHistory();
+        List<Task> found = manager.findTasks(new TaskQuery(Type.EPIC));
+
+        manager.createSubTask(new Subtask("Test", "test", Status.DONE, epic.getId(),
+                LocalDateTime.of(2025, 11, 10, 12, 0), Duration.ofMinutes(60)));
+
+        assertEquals(Status.NEW, received.getStatus());
+        assertTrue(received.getSubTasks().isEmpty());
+        assertEquals(Status.NEW, history.getFirst().getStatus());
+        assertEquals(Status.NEW, found.getFirst().getStatus());
+        assertEquals(Status.DONE, manager.getEpic(epic.getId()).getStatus());
+        assertEquals(Status.DONE, manager.getHistory().getFirst().getStatus());
+    }
+
+    @Test
+    @DisplayName("Снимок списка переиспользуется до следующего изменения")
+    protected void getAllTasks_withoutChanges_returnSameSnapshot() {
+        Task task = manager.createTask(new Task("Test", "test", Status.NEW,
+                LocalDateTime.of(2025, 11, 10, 12, 0), Duration.ofMinutes(60)));
+        List<Task> tasks = manager.getAllTasks();
+        List<Task> prioritized = manager.getPrioritizedTasks();
+
+        assertSame(tasks, manager.getAllTasks());
+        assertSame(prioritized, manager.getPrioritizedTasks());
+        assertThrows(UnsupportedOperationException.class, () -> tasks.add(task));
+
+        manager.createTask(new Task("Test", "test", Status.NEW));
+
+        assertEquals(1, tasks.size());
+        assertEquals(2, manager.getAllTasks().size());
+        assertNotSame(prioritized, manager.getPrioritizedTasks());
+    }
+
+    @Test
+    @DisplayName("Обновление с устаревшей версией отклоняется, версия растет при изменениях")
+    void updateTask_staleVersion_returnVersionConflictException() {
+        Task task = manager.createTask(new Task("Test", "test", Status.NEW));
+        Epic epic = manager.createEpic(new Epic("Test", "test"));
+        int epicVersion = manager.getEpic(epic.getId()).getVersion();
+        manager.createSubTask(new Subtask("Test", "test", Status.DONE, epic.getId()));
+
+        manager.updateTask(new Task("Updated", "test", task.getId(), Status.DONE), 1);
+        Task stale = new Task("Stale", "test", task.getId(), Status.NEW);
+
+        assertThrows(VersionConflictException.class, () -> manager.updateTask(stale, 1));
+        assertEquals("Updated", manager.getTask(task.getId()).getName());
+        assertEquals(2, manager.getTask(task.getId()).getVersion());
+        assertTrue(manager.getEpic(epic.getId()).getVersion() > epicVersion);
+    }
+
+    @Test
+    @DisplayName("Обновление без ожидаемой версии перезаписывает задачу, даже если экземпляр устарел")
+    void updateTask_staleInstance_overwriteTask() {
+        Task task = manager.createTask(new Task("Test", "test", Status.NEW));
+        Task stale = manager.getTask(task.getId());
+        Epic epic = manager.createEpic(new Epic("Test", "test"));
+        Epic staleEpic = manager.getEpic(epic.getId());
+        manager.createSubTask(new Subtask("Test", "test", Status.DONE, epic.getId()));
+        manager.updateTask(new Task("Updated", "test", task.getId(), Status.DONE));
+
+        stale.setName("Stale");
+        staleEpic.setName("Renamed");
+        manager.updateTask(stale);
+        manager.updateEpic(staleEpic);
+
+        assertEquals("Stale", manager.getTask(task.getId()).getName());
+        assertEquals(3, manager.getTask(task.getId()).getVersion());
+        assertEquals("Renamed", manager.getEpic(epic.getId()).getName());
+        assertEquals(Status.DONE, manager.getEpic(epic.getId()).getStatus());
+    }
+
     @Test
     @DisplayName("Поля задачи остаются неизменными при добавлении в менеджер")
     void createTask_taskAddedWithEqualFields() {
@@ -301,6 +619,52 @@ public abstract class TaskManagerTest<T extends TaskManager> {
         assertEquals(Status.IN_PROGRESS, epic.getStatus());
     }
 
+    @Test
+    @DisplayName("Время и продолжительность эпика пересчитываются при изменении подзадач")
+    void updateSubTask_returnEpicWithRecalculatedTime() {
+        Epic epic = manager.createEpic(new Epic("Test", "test"));
+        Subtask first = manager.createSubTask(new Subtask("Subtask1", "subtask", Status.NEW,
+                epic.getId(), LocalDateTime.of(2025, 11, 10, 12, 0), Duration.ofMinutes(60)));
+        Subtask last = manager.createSubTask(new Subtask("Subtask2", "subtask", Status.NEW,
+                epic.getId(), LocalDateTime.of(2025, 11, 12, 12, 0), Duration.ofMinutes(30)));
+        epic = manager.getEpic(epic.getId());
+
+        assertEquals(first.getStartTime(), epic.getStartTime());
+        assertEquals(last.getEndTime(), epic.getEndTime());
+        assertEquals(Duration.ofMinutes(90), epic.getDuration());
+
+        manager.updateSubTask(new Subtask("Subtask2", "subtask", last.getId(), Status.DONE, epic.getId(),
+                LocalDateTime.of(2025, 11, 11, 12, 0), Duration.ofMinutes(120)));
+        epic = manager.getEpic(epic.getId());
+
+        assertEquals(LocalDateTime.of(2025, 11, 11, 14, 0), epic.getEndTime());
+        assertEquals(Duration.ofMinutes(180), epic.getDuration());
+        assertEquals(Status.IN_PROGRESS, epic.getStatus());
+
+        manager.deleteSubTask(first.getId());
+        epic = manager.getEpic(epic.getId());
+
+        assertEquals(LocalDateTime.of(2025, 11, 11, 12, 0), epic.getStartTime());
+        assertEquals(Duration.ofMinutes(120), epic.getDuration());
+        assertEquals(Status.DONE, epic.getStatus());
+    }
+
+    @Test
+    @DisplayName("Статус эпика корректен при обновлении подзадачи, полученной из менеджера")
+    void updateSubTask_sameInstance_returnEpicWithCorrectStatus() {
+        Epic epic = manager.createEpic(new Epic("Test", "test"));
+        manager.createSubTask(new Subtask("Subtask1", "subtask", Status.NEW, epic.getId()));
+        Subtask subtask = manager.createSubTask(new Subtask("Subtask2", "subtask", Status.NEW, epic.getId()));
+
+        subtask.setStatus(Status.DONE);
+        manager.updateSubTask(subtask);
+        assertEquals(Status.IN_PROGRESS, manager.getEpic(epic.getId()).getStatus());
+
+        subtask.setStatus(Status.NEW);
+        manager.updateSubTask(subtask);
+        assertEquals(Status.NEW, manager.getEpic(epic.getId()).getStatus());
+    }
+
     @Test
     @DisplayName("Возвращает эпик подзадачи")
     void getEpic_returnEpicOfSubtask() {
@@ -350,6 +714,49 @@ public abstract class TaskManagerTest<T extends TaskManager> {
         assertEquals(1, manager.getPrioritizedTasks().size());
     }
 
+    @Test
+    @DisplayName("Задачи, идущие встык, не пересекаются")
+    void createTask_adjacentTasksDoNotConflict() {
+        manager.createTask(new Task("", "", Status.NEW,
+                LocalDateTime.of(2025, 11, 10, 12, 0), Duration.ofMinutes(60)));
+        manager.createTask(new Task("", "", Status.NEW,
+                LocalDateTime.of(2025, 11, 10, 14, 0), Duration.ofMinutes(60)));
+
+        assertDoesNotThrow(() -> manager.createTask(new Task("", "", Status.NEW,
+                LocalDateTime.of(2025, 11, 10, 13, 0), Duration.ofMinutes(60))));
+        assertEquals(3, manager.getPrioritizedTasks().size());
+    }
+
+    @Test
+    @DisplayName("Пересечение находится как с предыдущей, так и со следующей задачей")
+    void createTask_returnValidationException_neighbourTasks() {
+        manager.createTask(new Task("", "", Status.NEW,
+                LocalDateTime.of(2025, 11, 10, 12, 0), Duration.ofMinutes(60)));
+        manager.createTask(new Task("", "", Status.NEW,
+                LocalDateTime.of(2025, 11, 10, 15, 0), Duration.ofMinutes(60)));
+
+        assertThrows(ValidationException.class, () -> manager.createTask(new Task("", "", Status.NEW,
+                LocalDateTime.of(2025, 11, 10, 12, 30), Duration.ofMinutes(60))));
+        assertThrows(ValidationException.class, () -> manager.createTask(new Task("", "", Status.NEW,
+                LocalDateTime.of(2025, 11, 10, 14, 30), Duration.ofMinutes(60))));
+        assertThrows(ValidationException.class, () -> manager.createTask(new Task("", "", Status.NEW,
+                LocalDateTime.of(2025, 11, 10, 11, 0), Duration.ofMinutes(600))));
+        assertEquals(2, manager.getPrioritizedTasks().size());
+    }
+
+    @Test
+    @DisplayName("Задача не пересекается сама с собой при обновлении")
+    void updateTask_shiftedTaskDoesNotConflictWithItself() {
+        Task task = manager.createTask(new Task("", "", Status.NEW,
+                LocalDateTime.of(2025, 11, 10, 12, 0), Duration.ofMinutes(60)));
+        Task updatedTask = new Task("Test", "Test", task.getId(), Status.IN_PROGRESS,
+                LocalDateTime.of(2025, 11, 10, 12, 30), Duration.ofMinutes(60));
+
+        assertDoesNotThrow(() -> manager.updateTask(updatedTask));
+        assertEquals(1, manager.getPrioritizedTasks().size());
+        assertEquals(updatedTask.getStartTime(), manager.getPrioritizedTasks().getFirst().getStartTime());
+    }
+
     @Test
     @DisplayName("При обновлении задачи с пересечением, она не обновится и не появится копия")
     void updateTask_returnValidationException() {
@@ -1,10 +1,17 @@
 package manager.file;
 
+import exception.ManagerIOException;
 import manager.TaskManagerTest;
+import manager.history.InMemoryHistoryManager;
+import manager.task.ConcurrentTaskManager;
+import model.Durability;
 import model.Epic;
+import model.LoadMode;
+import model.SaveMode;
 import model.Status;
 import model.Subtask;
 import model.Task;
+import model.TaskBatch;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -13,12 +20,21 @@ import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileReader;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.*;
 
 @DisplayName("Файловый менеджер задач")
 class FileBackedTaskManagerTest extends TaskManagerTest<FileBackedTaskManager> {
@@ -114,6 +130,327 @@ class FileBackedTaskManagerTest extends TaskManagerTest<FileBackedTaskManager> {
         assertEquals(epicEndTime, epicFromFile.getEndTime());
     }
 
+    @Test
+    @DisplayName("Журнал изменений восстанавливается при загрузке")
+    void loadFromFile_journalMode_returnReplayedTasks() throws IOException {
+        manager = new FileBackedTaskManager(new InMemoryHistoryManager(), path, SaveMode.JOURNAL);
+        task = manager.createTask(new Task("Test", "Test", Status.NEW));
+        Task deletedTask = manager.createTask(new Task("Deleted", "Test", Status.NEW));
+        epic = manager.createEpic(new Epic("Test", "test"));
+        subtask = manager.createSubTask(new Subtask("Test", "Test", Status.NEW, epic.getId(),
+                LocalDateTime.of(2025, 11, 10, 12, 0), Duration.ofMinutes(120)));
+        manager.updateSubTask(new Subtask("Updated", "Test", subtask.getId(), Status.DONE, epic.getId(),
+                LocalDateTime.of(2025, 11, 10, 12, 0), Duration.ofMinutes(60)));
+        manager.deleteTask(deletedTask.getId());
+
+        Path journal = path.resolveSibling(path.getFileName() + ".log");
+        assertTrue(Files.exists(journal));
+
+        FileBackedTaskManager loaded = FileBackedTaskManager.loadFromFile(path, SaveMode.JOURNAL);
+
+        assertFalse(Files.exists(journal));
+        assertEquals(1, loaded.getAllTasks().size());
+        assertEqualsTask(task, loaded.getTask(task.getId()));
+        assertEquals("Updated", loaded.getSubTask(subtask.getId()).getName());
+        assertEquals(Status.DONE, loaded.getEpic(epic.getId()).getStatus());
+        assertEquals(Duration.ofMinutes(60), loaded.getEpic(epic.getId()).getDuration());
+        assertEquals(1, loaded.getPrioritizedTasks().size());
+        assertTrue(loaded.createTask(new Task("Test", "Test", Status.NEW)).getId() > subtask.getId());
+    }
+
+    @Test
+    @DisplayName("Изменения с асинхронной записью журнала сохраняются после закрытия менеджера")
+    void loadFromFile_asyncJournal_returnAllTasksAfterClose() {
+        manager = new FileBackedTaskManager(new InMemoryHistoryManager(), path, SaveMode.JOURNAL,
+                Durability.ASYNC);
+        for (int i = 0; i < 100; i++) {
+            manager.createTask(new Task("Test" + i, "Test", Status.NEW));
+        }
+        manager.close();
+
+        FileBackedTaskManager loaded = FileBackedTaskManager.loadFromFile(path, SaveMode.JOURNAL, Durability.SYNC);
+        loaded.createTask(new Task("Test", "Test", Status.NEW));
+        loaded.close();
+
+        assertEquals(101, FileBackedTaskManager.loadFromFile(path, SaveMode.JOURNAL).getAllTasks().size());
+    }
+
+    @Test
+    @DisplayName("Бинарный снимок сохраняет все поля задач")
+    void loadFromFile_binarySnapshot_returnEqualTasks() {
+        manager = new FileBackedTaskManager(new InMemoryHistoryManager(), path, SaveMode.JOURNAL);
+        task = manager.createTask(new Task("Задача, с запятой", "Описание", Status.IN_PROGRESS,
+                LocalDateTime.of(2025, 11, 10, 12, 0, 15, 300), Duration.ofMinutes(45)));
+        epic = manager.createEpic(new Epic("Test", "test"));
+        subtask = manager.createSubTask(new Subtask("Test", "Test", Status.DONE, epic.getId(),
+                LocalDateTime.of(2025, 11, 11, 12, 0), Duration.ofMinutes(120)));
+        FileBackedTaskManager.loadFromFile(path, SaveMode.JOURNAL);
+
+        FileBackedTaskManager loaded = FileBackedTaskManager.loadFromFile(path, SaveMode.JOURNAL);
+        Task taskFromFile = loaded.getTask(task.getId());
+        Subtask subtaskFromFile = loaded.getSubTask(subtask.getId());
+        Epic epicFromFile = loaded.getEpic(epic.getId());
+
+        assertTrue(BinarySnapshot.isBinary(loaded.getSnapshotPath()));
+        assertEqualsTask(task, taskFromFile);
+        assertEquals(task.getStartTime(), taskFromFile.getStartTime());
+        assertEquals(task.getDuration(), taskFromFile.getDuration());
+        assertEqualsTask(subtask, subtaskFromFile);
+        assertEquals(epic.getId(), subtaskFromFile.getEpicId());
+        assertEquals(epic.getEndTime(), epicFromFile.getEndTime());
+        assertEquals(Status.DONE, epicFromFile.getStatus());
+    }
+
+    @Test
+    @DisplayName("Ленивая загрузка подгружает имена и описания из снимка")
+    void loadFromFile_lazyMode_returnTasksWithBodies() {
+        manager = new FileBackedTaskManager(new InMemoryHistoryManager(), path, SaveMode.JOURNAL);
+        task = manager.createTask(new Task("Задача", "Описание", Status.NEW,
+                LocalDateTime.of(2025, 11, 10, 12, 0), Duration.ofMinutes(45)));
+        epic = manager.createEpic(new Epic("Эпик", "Описание эпика"));
+        subtask = manager.createSubTask(new Subtask("Подзадача", "Описание подзадачи", Status.DONE, epic.getId(),
+                LocalDateTime.of(2025, 11, 11, 12, 0), Duration.ofMinutes(120)));
+        FileBackedTaskManager.loadFromFile(path, SaveMode.JOURNAL);
+
+        FileBackedTaskManager loaded = FileBackedTaskManager.loadFromFile(path, SaveMode.JOURNAL, Durability.NONE,
+                LoadMode.LAZY);
+        loaded.updateEpic(new Epic("Новый эпик", "Новое описание", epic.getId()));
+        loaded.close();
+        loaded = FileBackedTaskManager.loadFromFile(path, SaveMode.JOURNAL, Durability.NONE, LoadMode.LAZY);
+
+        assertEqualsTask(task, loaded.getTask(task.getId()));
+        assertEqualsTask(subtask, loaded.getEpicSubTasks(epic).getFirst());
+        assertEquals("Новый эпик", loaded.getEpic(epic.getId()).getName());
+        assertEquals(Status.DONE, loaded.getEpic(epic.getId()).getStatus());
+        assertEquals(2, loaded.getPrioritizedTasks().size());
+    }
+
+    @Test
+    @DisplayName("Ленивая загрузка сохраняет имя эпика после получения списка эпиков")
+    void getAllEpics_lazyMode_returnEpicWithBody() {
+        manager = new FileBackedTaskManager(new InMemoryHistoryManager(), path, SaveMode.JOURNAL);
+        epic = manager.createEpic(new Epic("Эпик", "Описание эпика"));
+        FileBackedTaskManager.loadFromFile(path, SaveMode.JOURNAL);
+
+        FileBackedTaskManager loaded = FileBackedTaskManager.loadFromFile(path, SaveMode.JOURNAL, Durability.NONE,
+                LoadMode.LAZY);
+
+        assertEquals("Эпик", loaded.getAllEpics().getFirst().getName());
+        assertEquals("Эпик", loaded.getEpic(epic.getId()).getName());
+        assertEquals("Описание эпика", loaded.getEpic(epic.getId()).getDescription());
+    }
+
+    @Test
+    @DisplayName("Пакет задач записывается в журнал и восстанавливается при загрузке")
+    void loadFromFile_journalMode_returnBatchTasks() {
+        manager = new FileBackedTaskManager(new InMemoryHistoryManager(), path, SaveMode.JOURNAL);
+        task = manager.createTask(new Task("Test", "Test", Status.NEW));
+        Task deletedTask = manager.createTask(new Task("Deleted", "Test", Status.NEW));
+
+        manager.applyBatch(new TaskBatch(List.of(new Task("Created", "Test", Status.NEW)),
+                List.of(new Task("Updated", "Test", task.getId(), Status.DONE)), List.of(deletedTask.getId())));
+        FileBackedTaskManager loaded = FileBackedTaskManager.loadFromFile(path, SaveMode.JOURNAL);
+
+        assertEquals(List.of("Updated", "Created"), loaded.getAllTasks().stream().map(Task::getName).toList());
+        assertEquals(Status.DONE, loaded.getTask(task.getId()).getStatus());
+    }
+
+    @Test
+    @DisplayName("Оборванная последняя запись журнала отбрасывается при загрузке")
+    void loadFromFile_tornJournalTail_returnTasksWithoutTornRecord() throws IOException {
+        manager = new FileBackedTaskManager(new InMemoryHistoryManager(), path, SaveMode.JOURNAL);
+        for (int i = 0; i < 12; i++) {
+            manager.createTask(new Task("Test" + i, "Test", Status.NEW, LocalDateTime.of(2025, 11, 10, i, 0),
+                    Duration.ofMinutes(30)));
+        }
+        manager.deleteTask(12);
+        Path journal = path.resolveSibling(path.getFileName() + ".log");
+        byte[] records = Files.readAllBytes(journal);
+        Files.write(journal, Arrays.copyOf(records, records.length - 2));
+
+        FileBackedTaskManager loaded = FileBackedTaskManager.loadFromFile(path, SaveMode.JOURNAL);
+        loaded.createTask(new Task("Test", "Test", Status.NEW));
+        loaded = FileBackedTaskManager.loadFromFile(path, SaveMode.JOURNAL);
+
+        assertEquals(13, loaded.getAllTasks().size());
+        assertEquals("Test0", loaded.getTask(1).getName());
+        assertEquals(Duration.ofMinutes(30), loaded.getTask(12).getDuration());
+        assertEquals("Test", loaded.getTask(13).getName());
+    }
+
+    @Test
+    @DisplayName("Поврежденная запись в середине журнала прерывает загрузку и не удаляет журнал")
+    void loadFromFile_corruptJournalRecord_throwManagerIOException() throws IOException {
+        manager = new FileBackedTaskManager(new InMemoryHistoryManager(), path, SaveMode.JOURNAL);
+        for (int i = 0; i < 3; i++) {
+            manager.createTask(new Task("Test" + i, "Test", Status.NEW));
+        }
+        Path journal = path.resolveSibling(path.getFileName() + ".log");
+        List<String> records = new ArrayList<>(Files.readAllLines(journal, StandardCharsets.UTF_8));
+        records.set(1, "PUT,2,TASK");
+        Files.write(journal, records, StandardCharsets.UTF_8);
+        byte[] corrupted = Files.readAllBytes(journal);
+
+        assertThrows(ManagerIOException.class, () -> FileBackedTaskManager.loadFromFile(path, SaveMode.JOURNAL));
+        assertArrayEquals(corrupted, Files.readAllBytes(journal));
+    }
+
+    @Test
+    @DisplayName("Id удаленной последней задачи не выдается повторно после загрузки из CSV")
+    void loadFromFile_deletedLastTask_returnNewId() throws IOException {
+        manager.createTask(new Task("Test", "Test", Status.NEW));
+        Task deletedTask = manager.createTask(new Task("Deleted", "Test", Status.NEW));
+        manager.deleteTask(deletedTask.getId());
+
+        FileBackedTaskManager loaded = FileBackedTaskManager.loadFromFile(path);
+
+        assertEquals(deletedTask.getId() + 1, loaded.createTask(new Task("Test", "Test", Status.NEW)).getId());
+        assertEquals("id,type,name,status,description,epic,startTime,duration,endTime,version",
+                Files.readAllLines(path, StandardCharsets.UTF_8).getFirst());
+    }
+
+    @Test
+    @DisplayName("Параллельные синхронные записи фиксируются общими группами вне блокировки")
+    void createTask_concurrentSyncJournal_returnAllTasksAfterLoad() throws Exception {
+        FileBackedTaskManager fileManager = new FileBackedTaskManager(new InMemoryHistoryManager(), path,
+                SaveMode.JOURNAL, Durability.SYNC, 20);
+        ConcurrentTaskManager concurrentManager = new ConcurrentTaskManager(fileManager);
+        List<Future<?>> futures = new ArrayList<>();
+        long start = System.nanoTime();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int thread = 0; thread < 8; thread++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 25; i++) {
+                        concurrentManager.createTask(new Task("Test", "Test", Status.NEW));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        fileManager.close();
+
+        assertEquals(200, FileBackedTaskManager.loadFromFile(path, SaveMode.JOURNAL).getAllTasks().size());
+        assertTrue(elapsedMillis < 200 * 20 / 2, "Записи не объединяются в группы: " + elapsedMillis + " мс");
+    }
+
+    @Test
+    @DisplayName("Обернутый менеджер при прямом вызове ждет фиксации записи")
+    void createTask_wrappedSyncJournal_returnAfterCommit() throws IOException {
+        FileBackedTaskManager fileManager = new FileBackedTaskManager(new InMemoryHistoryManager(), path,
+                SaveMode.JOURNAL, Durability.SYNC, 200);
+        ConcurrentTaskManager concurrentManager = new ConcurrentTaskManager(fileManager);
+        concurrentManager.createTask(new Task("Wrapped", "Test", Status.NEW));
+
+        fileManager.createTask(new Task("Direct", "Test", Status.NEW));
+        List<String> journal = Files.readAllLines(path.resolveSibling(path.getFileName() + ".log"));
+        fileManager.close();
+
+        assertEquals(2, journal.size());
+    }
+
+    @Test
+    @DisplayName("Версии задач сохраняются в CSV и восстанавливаются при загрузке")
+    void loadFromFile_snapshotMode_returnSavedVersions() {
+        updateVersionedTasks();
+
+        assertVersions(manager, FileBackedTaskManager.loadFromFile(path));
+    }
+
+    @Test
+    @DisplayName("Версии задач сохраняются в журнале и бинарном снимке")
+    void loadFromFile_journalMode_returnSavedVersions() {
+        manager = new FileBackedTaskManager(new InMemoryHistoryManager(), path, SaveMode.JOURNAL);
+        updateVersionedTasks();
+
+        FileBackedTaskManager compacted = FileBackedTaskManager.loadFromFile(path, SaveMode.JOURNAL);
+        assertVersions(manager, compacted);
+        assertTrue(BinarySnapshot.isBinary(compacted.getSnapshotPath()));
+        assertVersions(manager, FileBackedTaskManager.loadFromFile(path, SaveMode.JOURNAL));
+    }
+
+    @Test
+    @DisplayName("Сжатие журнала пишет снимок под новым именем, а не поверх отображенного в память")
+    void loadFromFile_lazyCompaction_writeNextSnapshot() {
+        manager = new FileBackedTaskManager(new InMemoryHistoryManager(), path, SaveMode.JOURNAL);
+        task = manager.createTask(new Task("Test", "Test", Status.NEW));
+        Path first = FileBackedTaskManager.loadFromFile(path, SaveMode.JOURNAL).getSnapshotPath();
+        FileBackedTaskManager.loadFromFile(path, SaveMode.JOURNAL, Durability.NONE, LoadMode.LAZY)
+                .createTask(new Task("Second", "Test", Status.NEW));
+
+        FileBackedTaskManager loaded = FileBackedTaskManager.loadFromFile(path, SaveMode.JOURNAL, Durability.NONE,
+                LoadMode.LAZY);
+
+        assertNotEquals(first, loaded.getSnapshotPath());
+        assertFalse(Files.exists(first));
+        assertEquals("Test", loaded.getTask(task.getId()).getName());
+        assertEquals(2, loaded.getAllTasks().size());
+    }
+
+    @Test
+    @DisplayName("Бинарный снимок с чужой версией или поврежденным числом записей не загружается")
+    void loadFromFile_corruptSnapshotHeader_throwManagerIOException() throws IOException {
+        manager = new FileBackedTaskManager(new InMemoryHistoryManager(), path, SaveMode.JOURNAL);
+        manager.createTask(new Task("Test", "Test", Status.NEW));
+        Path snapshotPath = FileBackedTaskManager.loadFromFile(path, SaveMode.JOURNAL).getSnapshotPath();
+        byte[] snapshot = Files.readAllBytes(snapshotPath);
+
+        ByteBuffer.wrap(snapshot).putInt(4, 1);
+        Files.write(snapshotPath, snapshot);
+        assertThrows(ManagerIOException.class, () -> FileBackedTaskManager.loadFromFile(path, SaveMode.JOURNAL));
+
+        ByteBuffer.wrap(snapshot).putInt(4, 2).putInt(8, Integer.MAX_VALUE / 2);
+        Files.write(snapshotPath, snapshot);
+        assertThrows(ManagerIOException.class, () -> FileBackedTaskManager.loadFromFile(path, SaveMode.JOURNAL));
+    }
+
+    @Test
+    @DisplayName("Версия задачи со временем начала сохраняется в строке CSV")
+    void fromString_timedTask_returnSameVersion() {
+        task = manager.createTask(new Task("Test", "Test", Status.NEW, LocalDateTime.of(2025, 11, 10, 12, 0),
+                Duration.ofMinutes(30)));
+        manager.updateTask(new Task("Updated", "Test", task.getId(), Status.DONE,
+                LocalDateTime.of(2025, 11, 10, 12, 0), Duration.ofMinutes(30)));
+        manager.updateTask(new Task("Updated", "Test", task.getId(), Status.DONE,
+                LocalDateTime.of(2025, 11, 10, 13, 0), Duration.ofMinutes(30)));
+        Task saved = manager.getTask(task.getId());
+
+        Task taskFromLine = TaskConverter.fromString(TaskConverter.toString(saved));
+
+        assertEquals(3, taskFromLine.getVersion());
+        assertEquals(saved.getStartTime(), taskFromLine.getStartTime());
+        assertEquals(saved.getDuration(), taskFromLine.getDuration());
+        assertEquals(3, FileBackedTaskManager.loadFromFile(path).getTask(task.getId()).getVersion());
+    }
+
+    private void updateVersionedTasks() {
+        task = manager.createTask(new Task("Test", "Test", Status.NEW));
+        manager.updateTask(new Task("Updated", "Test", task.getId(), Status.IN_PROGRESS));
+        manager.updateTask(new Task("Updated", "Test", task.getId(), Status.DONE));
+        epic = manager.createEpic(new Epic("Test", "test"));
+        Epic otherEpic = manager.createEpic(new Epic("Other", "test"));
+        subtask = manager.createSubTask(new Subtask("Test", "Test", Status.NEW, epic.getId()));
+        manager.createSubTask(new Subtask("Deleted", "Test", Status.NEW, epic.getId()));
+        manager.updateSubTask(new Subtask("Updated", "Test", subtask.getId(), Status.DONE, otherEpic.getId()));
+        manager.deleteSubTask(subtask.getId() + 1);
+    }
+
+    private static void assertVersions(FileBackedTaskManager expected, FileBackedTaskManager actual) {
+        for (Task saved : expected.getAllTasks()) {
+            assertEquals(saved.getVersion(), actual.getTask(saved.getId()).getVersion());
+        }
+        for (Epic saved : expected.getAllEpics()) {
+            assertEquals(saved.getVersion(), actual.getEpic(saved.getId()).getVersion());
+        }
+        for (Subtask saved : expected.getAllSubtasks()) {
+            assertEquals(saved.getVersion(), actual.getSubTask(saved.getId()).getVersion());
+        }
+        assertEquals(3, actual.getTask(expected.getAllTasks().getFirst().getId()).getVersion());
+    }
+
     public static void assertEqualsTask(Task expected, Task actual) {
         assertEquals(expected.getName(), actual.getName());
         assertEquals(expected.getDescription(), actual.getDescription());
@@ -0,0 +1,65 @@
+package manager.history;
+
+import model.Status;
+import model.Task;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DisplayName("Потокобезопасный менеджер истории")
+class ConcurrentHistoryManagerTest {
+
+    @Test
+    @DisplayName("Просмотры из буфера учитываются в порядке добавления до удаления и чтения")
+    void remove_bufferedViews_returnHistoryInAccessOrder() {
+        HistoryManager historyManager = new ConcurrentHistoryManager();
+        Task first = new Task("First task", "test", 1, Status.NEW);
+        Task second = new Task("Second task", "test", 2, Status.NEW);
+        Task third = new Task("Third task", "test", 3, Status.NEW);
+
+        historyManager.add(first);
+        historyManager.add(second);
+        historyManager.add(third);
+        historyManager.add(first);
+        historyManager.remove(second.getId());
+
+        assertEquals(List.of(third, first), historyManager.getHistory());
+        assertEquals(List.of(first), historyManager.getHistory(1));
+    }
+
+    @Test
+    @DisplayName("Параллельные просмотры не теряются и не дублируются")
+    void add_concurrently_returnEachTaskOnce() throws Exception {
+        HistoryManager historyManager = new ConcurrentHistoryManager();
+        List<Task> tasks = new ArrayList<>();
+        for (int id = 1; id <= 100; id++) {
+            tasks.add(new Task("Test", "test", id, Status.NEW));
+        }
+
+        List<Future<?>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int thread = 0; thread < 8; thread++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        historyManager.add(tasks.get(i % tasks.size()));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+
+        List<Task> history = historyManager.getHistory();
+        assertEquals(100, history.size());
+        assertEquals(100, new HashSet<>(history).size());
+    }
+}
\ No newline at end of file
@@ -62,4 +62,24 @@ class InMemoryHistoryManagerTest {
 
     }
 
+    @Test
+    @DisplayName("Самый старый просмотр вытесняется при заполнении истории")
+    void add_fullHistory_oldestTaskEvicted() {
+        HistoryManager boundedHistory = new InMemoryHistoryManager(2);
+        boundedHistory.add(task);
+        boundedHistory.add(epic);
+        boundedHistory.add(task);
+        boundedHistory.add(subtask);
+
+        assertEquals(List.of(task, subtask), boundedHistory.getHistory());
+    }
+
+    @Test
+    @DisplayName("Возвращает последние просмотры в пределах лимита")
+    void getHistory_limit_returnLatestTasks() {
+        assertEquals(List.of(epic, subtask), historyManager.getHistory(2));
+        assertEquals(List.of(task, epic, subtask), historyManager.getHistory(10));
+        assertEquals(List.of(), historyManager.getHistory(0));
+    }
+
 }
\ No newline at end of file
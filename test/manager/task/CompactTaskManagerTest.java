@@ -0,0 +1,171 @@
+package manager.task;
+
+import exception.NotFoundException;
+import exception.ValidationException;
+import manager.TaskManagerTest;
+import manager.history.InMemoryHistoryManager;
+import model.Epic;
+import model.Status;
+import model.Subtask;
+import model.Task;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Компактный менеджер задач")
+class CompactTaskManagerTest extends TaskManagerTest<CompactTaskManager> {
+    @Override
+    protected CompactTaskManager createManager() {
+        return new CompactTaskManager(new InMemoryHistoryManager());
+    }
+
+    @Override
+    protected boolean keepsPassedInstances() {
+        return false;
+    }
+
+    @Test
+    @DisplayName("Задача сохраняется и материализуется с теми же полями")
+    void getTask_returnTaskWithEqualFields() {
+        Task task = manager.createTask(new Task("Test", "test", Status.IN_PROGRESS,
+                LocalDateTime.of(2025, 11, 10, 12, 0), Duration.ofMinutes(45)));
+
+        Task taskActual = manager.getTask(task.getId());
+
+        assertNotSame(task, taskActual);
+        assertEquals(task, taskActual);
+        assertEquals(task.getName(), taskActual.getName());
+        assertEquals(task.getDescription(), taskActual.getDescription());
+        assertEquals(task.getStatus(), taskActual.getStatus());
+        assertEquals(task.getStartTime(), taskActual.getStartTime());
+        assertEquals(task.getDuration(), taskActual.getDuration());
+        assertEquals(List.of(taskActual), manager.getHistory());
+    }
+
+    @Test
+    @DisplayName("Поля эпика вычисляются по подзадачам")
+    void getEpic_returnEpicWithCalculatedFields() {
+        Epic epic = manager.createEpic(new Epic("Test", "test"));
+        Subtask first = manager.createSubTask(new Subtask("Subtask1", "subtask", Status.NEW,
+                epic.getId(), LocalDateTime.of(2025, 11, 10, 12, 0), Duration.ofMinutes(60)));
+        Subtask last = manager.createSubTask(new Subtask("Subtask2", "subtask", Status.DONE,
+                epic.getId(), LocalDateTime.of(2025, 11, 12, 12, 0), Duration.ofMinutes(30)));
+
+        Epic epicActual = manager.getEpic(epic.getId());
+
+        assertEquals(Status.IN_PROGRESS, epicActual.getStatus());
+        assertEquals(first.getStartTime(), epicActual.getStartTime());
+        assertEquals(last.getEndTime(), epicActual.getEndTime());
+        assertEquals(Duration.ofMinutes(90), epicActual.getDuration());
+        assertEquals(2, epicActual.getSubTasks().size());
+
+        manager.deleteSubTask(first.getId());
+
+        assertEquals(Status.DONE, manager.getEpic(epic.getId()).getStatus());
+        assertEquals(List.of(last), manager.getEpicSubTasks(epic));
+    }
+
+    @Test
+    @DisplayName("Подзадача переносится в другой эпик, изменения эпиков видны при повторном чтении")
+    void updateSubTask_anotherEpic_returnChangedEpicsOnRead() {
+        Epic epic = manager.createEpic(new Epic("Test", "test"));
+        Epic newEpic = manager.createEpic(new Epic("Test2", "test"));
+        Subtask subtask = manager.createSubTask(new Subtask("test", "test", Status.NEW, epic.getId()));
+
+        manager.updateSubTask(new Subtask("updated", "test", subtask.getId(), Status.DONE, newEpic.getId()));
+
+        assertTrue(manager.getEpicSubTasks(epic).isEmpty());
+        assertEquals("updated", manager.getEpicSubTasks(newEpic).getFirst().getName());
+        assertEquals(Status.NEW, manager.getEpic(epic.getId()).getStatus());
+        assertEquals(Status.DONE, manager.getEpic(newEpic.getId()).getStatus());
+        assertEquals(Status.NEW, newEpic.getStatus());
+    }
+
+    @Test
+    @DisplayName("Пересечения по времени проверяются, задача не пересекается сама с собой")
+    void createTask_returnValidationException_overlappingTasks() {
+        Task task = manager.createTask(new Task("", "", Status.NEW,
+                LocalDateTime.of(2025, 11, 10, 12, 0), Duration.ofMinutes(60)));
+        manager.createTask(new Task("", "", Status.NEW,
+                LocalDateTime.of(2025, 11, 10, 14, 0), Duration.ofMinutes(60)));
+
+        assertThrows(ValidationException.class, () -> manager.createTask(new Task("", "", Status.NEW,
+                LocalDateTime.of(2025, 11, 10, 12, 30), Duration.ofMinutes(60))));
+        assertThrows(ValidationException.class, () -> manager.createTask(new Task("", "", Status.NEW,
+                LocalDateTime.of(2025, 11, 10, 11, 0), Duration.ofMinutes(600))));
+        assertDoesNotThrow(() -> manager.updateTask(new Task("", "", task.getId(), Status.NEW,
+                LocalDateTime.of(2025, 11, 10, 12, 30), Duration.ofMinutes(60))));
+        assertDoesNotThrow(() -> manager.createTask(new Task("", "", Status.NEW,
+                LocalDateTime.of(2025, 11, 10, 13, 30), Duration.ofMinutes(30))));
+
+        List<Task> prioritized = manager.getPrioritizedTasks();
+        assertEquals(3, prioritized.size());
+        assertEquals(task, prioritized.getFirst());
+        assertEquals(2, manager.getPrioritizedTasks(LocalDateTime.of(2025, 11, 10, 13, 0),
+                LocalDateTime.of(2025, 11, 10, 14, 0)).size());
+    }
+
+    @Test
+    @DisplayName("Удаление эпика удаляет его подзадачи из всех представлений")
+    void deleteEpic_returnManagerWithoutSubtasks() {
+        Epic epic = manager.createEpic(new Epic("Test", "test"));
+        Subtask subtask = manager.createSubTask(new Subtask("test", "test", Status.NEW, epic.getId(),
+                LocalDateTime.of(2025, 11, 10, 12, 0), Duration.ofMinutes(60)));
+        manager.getSubTask(subtask.getId());
+
+        manager.deleteEpic(epic.getId());
+
+        assertTrue(manager.getAllSubtasks().isEmpty());
+        assertTrue(manager.getAllEpics().isEmpty());
+        assertTrue(manager.getPrioritizedTasks().isEmpty());
+        assertTrue(manager.getHistory().isEmpty());
+        assertThrows(NotFoundException.class, () -> manager.getSubTask(subtask.getId()));
+    }
+
+    @Test
+    @DisplayName("Удаление всех подзадач оставляет расписание задач в порядке времени")
+    void removeAllSubTasks_returnScheduleWithTasksOnly() {
+        Epic epic = manager.createEpic(new Epic("Test", "test"));
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            LocalDateTime start = LocalDateTime.of(2025, 11, 10, 0, 0).plusHours(i);
+            if (i % 3 == 0) {
+                tasks.add(manager.createTask(new Task("Test", "test", Status.NEW, start, Duration.ofMinutes(30))));
+            } else {
+                manager.createSubTask(new Subtask("test", "test", Status.NEW, epic.getId(), start,
+                        Duration.ofMinutes(30)));
+            }
+        }
+
+        manager.removeAllSubTasks();
+
+        assertEquals(tasks, manager.getPrioritizedTasks());
+        assertTrue(manager.getEpicSubTasks(epic).isEmpty());
+        assertDoesNotThrow(() -> manager.createTask(new Task("Test", "test", Status.NEW,
+                LocalDateTime.of(2025, 11, 10, 1, 0), Duration.ofMinutes(60))));
+    }
+
+    @Test
+    @Override
+    @DisplayName("Компактный менеджер не кэширует материализованные списки, каждый вызов возвращает копию")
+    protected void getAllTasks_withoutChanges_returnSameSnapshot() {
+        Task task = manager.createTask(new Task("Test", "test", Status.NEW,
+                LocalDateTime.of(2025, 11, 10, 12, 0), Duration.ofMinutes(60)));
+        List<Task> tasks = manager.getAllTasks();
+
+        assertEquals(tasks, manager.getAllTasks());
+        assertNotSame(tasks, manager.getAllTasks());
+        assertEquals(manager.getPrioritizedTasks(), manager.getPrioritizedTasks());
+
+        manager.createTask(new Task("Test", "test", Status.NEW));
+
+        assertEquals(List.of(task), tasks);
+        assertEquals(2, manager.getAllTasks().size());
+    }
+}
\ No newline at end of file
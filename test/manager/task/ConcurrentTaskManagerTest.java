@@ -0,0 +1,145 @@
+package manager.task;
+
+import exception.ValidationException;
+import manager.TaskManagerTest;
+import manager.history.ConcurrentHistoryManager;
+import manager.history.InMemoryHistoryManager;
+import model.Epic;
+import model.Status;
+import model.Subtask;
+import model.Task;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+@DisplayName("Потокобезопасный менеджер задач")
+class ConcurrentTaskManagerTest extends TaskManagerTest<ConcurrentTaskManager> {
+
+    @Override
+    protected ConcurrentTaskManager createManager() {
+        return new ConcurrentTaskManager(new InMemoryTaskManager(new InMemoryHistoryManager()));
+    }
+
+    @Test
+    @DisplayName("Параллельное создание задач выдает уникальные id и не нарушает расписание")
+    void createTask_concurrently_returnUniqueIdsWithoutOverlaps() throws Exception {
+        ConcurrentTaskManager manager = createManager();
+        Epic epic = manager.createEpic(new Epic("Test", "test"));
+        LocalDateTime start = LocalDateTime.of(2025, 1, 1, 0, 0);
+        List<Future<?>> futures = new ArrayList<>();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int thread = 0; thread < 8; thread++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 200; i++) {
+                        LocalDateTime slot = start.plusHours(i);
+                        try {
+                            manager.createSubTask(new Subtask("Test", "test", Status.DONE, epic.getId(), slot,
+                                    Duration.ofMinutes(60)));
+                        } catch (ValidationException ignored) {
+                        }
+                        manager.getPrioritizedTasks();
+                        manager.getAllSubtasks();
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+
+        List<Task> prioritized = manager.getPrioritizedTasks();
+        Set<Integer> ids = new HashSet<>();
+        for (Subtask subtask : manager.getAllSubtasks()) {
+            ids.add(subtask.getId());
+        }
+
+        assertEquals(200, prioritized.size());
+        assertEquals(200, ids.size());
+        for (int i = 1; i < prioritized.size(); i++) {
+            assertEquals(prioritized.get(i - 1).getEndTime(), prioritized.get(i).getStartTime());
+        }
+        assertEquals(Status.DONE, manager.getEpic(epic.getId()).getStatus());
+        assertEquals(Duration.ofMinutes(200 * 60), manager.getEpic(epic.getId()).getDuration());
+    }
+
+    @Test
+    @DisplayName("Параллельные просмотры под блокировкой чтения попадают в историю")
+    void getTask_concurrentHistory_returnAllViewedTasks() throws Exception {
+        ConcurrentTaskManager manager = new ConcurrentTaskManager(
+                new InMemoryTaskManager(new ConcurrentHistoryManager()), true);
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            tasks.add(manager.createTask(new Task("Test", "test", Status.NEW)));
+        }
+
+        List<Future<?>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int thread = 0; thread < 8; thread++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 1_000; i++) {
+                        manager.getTask(tasks.get(i % tasks.size()).getId());
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+
+        assertEquals(50, manager.getHistory().size());
+        manager.deleteTask(tasks.getFirst().getId());
+        assertEquals(49, manager.getHistory().size());
+    }
+
+    @Test
+    @DisplayName("Чтение опубликованного снимка не ждет блокировку записи")
+    void getAllTasks_duringWrite_returnSnapshotWithoutLock() throws Exception {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ConcurrentTaskManager manager = new ConcurrentTaskManager(new InMemoryTaskManager(
+                new InMemoryHistoryManager() {
+                    @Override
+                    public void remove(int id) {
+                        writing.countDown();
+                        try {
+                            release.await();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        super.remove(id);
+                    }
+                }));
+        Task task = manager.createTask(new Task("Test", "test", Status.NEW));
+        List<Task> snapshot = manager.getAllTasks();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(2)) {
+            Future<?> writer = executor.submit(() -> manager.deleteTask(task.getId()));
+            writing.await();
+            Future<List<Task>> reader = executor.submit(manager::getAllTasks);
+
+            try {
+                assertSame(snapshot, reader.get(5, TimeUnit.SECONDS));
+            } finally {
+                release.countDown();
+            }
+            writer.get();
+        }
+
+        assertEquals(List.of(), manager.getAllTasks());
+    }
+}
\ No newline at end of file
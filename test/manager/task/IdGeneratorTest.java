@@ -0,0 +1,53 @@
+package manager.task;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DisplayName("Генератор id")
+class IdGeneratorTest {
+
+    @Test
+    @DisplayName("Id выдаются последовательно")
+    void nextId_returnSequentialIds() {
+        IdGenerator idGenerator = new IdGenerator();
+        idGenerator.advanceTo(5);
+
+        assertEquals(5, idGenerator.nextId());
+        assertEquals(6, idGenerator.nextId());
+        assertEquals(7, idGenerator.getHighWaterMark());
+    }
+
+    @Test
+    @DisplayName("Id из разных потоков не пересекаются и не оставляют пропусков")
+    void nextId_concurrently_returnUniqueIdsWithoutGaps() throws Exception {
+        IdGenerator idGenerator = new IdGenerator();
+        Set<Integer> ids = ConcurrentHashMap.newKeySet();
+        List<Future<?>> futures = new ArrayList<>();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int thread = 0; thread < 8; thread++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 1000; i++) {
+                        ids.add(idGenerator.nextId());
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+
+        assertEquals(8000, ids.size());
+        assertEquals(8001, idGenerator.getHighWaterMark());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,38 @@
+package util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DisplayName("Связное множество int")
+class IntLinkedSetTest {
+
+    @Test
+    @DisplayName("Сохраняет порядок вставки как LinkedHashSet")
+    void addAndRemove_randomOperations_returnSameOrderAsLinkedHashSet() {
+        IntLinkedSet set = new IntLinkedSet();
+        Set<Integer> expected = new LinkedHashSet<>();
+        Random random = new Random(7);
+
+        for (int i = 0; i < 100_000; i++) {
+            int key = random.nextInt(2_000);
+            if (random.nextInt(3) > 0) {
+                assertEquals(expected.add(key), set.add(key));
+            } else {
+                assertEquals(expected.remove(key), set.remove(key));
+            }
+        }
+
+        List<Integer> actual = new ArrayList<>();
+        set.forEach(actual::add);
+        assertEquals(expected.size(), set.size());
+        assertEquals(new ArrayList<>(expected), actual);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,78 @@
+package util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@DisplayName("Хеш-таблица с int ключами")
+class IntMapTest {
+
+    @Test
+    @DisplayName("Ведет себя как HashMap при случайных вставках и удалениях")
+    void putAndRemove_randomOperations_returnSameAsHashMap() {
+        IntMap<String> map = new IntMap<>();
+        Map<Integer, String> expected = new HashMap<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 100_000; i++) {
+            int key = random.nextInt(5_000) - 100;
+            if (random.nextBoolean()) {
+                assertEquals(expected.put(key, "v" + i), map.put(key, "v" + i));
+            } else {
+                assertEquals(expected.remove(key), map.remove(key));
+            }
+        }
+
+        assertEquals(expected.size(), map.size());
+        for (Map.Entry<Integer, String> entry : expected.entrySet()) {
+            assertEquals(entry.getValue(), map.get(entry.getKey()));
+        }
+        assertEquals(expected.size(), new ArrayList<>(map.values()).size());
+        assertEquals(new TreeMap<>(expected).values().stream().toList(), map.sortedValues());
+    }
+
+    @Test
+    @DisplayName("Последовательные ключи возвращаются по возрастанию")
+    void sortedValues_sequentialKeys_returnAscendingOrder() {
+        IntMap<Integer> map = new IntMap<>();
+        for (int i = 1; i <= 100; i++) {
+            map.put(i, i);
+        }
+        map.remove(50);
+
+        List<Integer> values = map.sortedValues();
+
+        assertEquals(99, values.size());
+        assertEquals(List.of(1, 100), List.of(values.getFirst(), values.getLast()));
+        assertNull(map.get(50));
+        assertNull(map.get((Integer) null));
+    }
+
+    @Test
+    @DisplayName("Скользящее окно последовательных ключей сохраняет порядок и размер")
+    void putAndRemove_slidingWindow_returnAscendingWindow() {
+        IntMap<Integer> map = new IntMap<>();
+        for (int i = 1; i <= 100_000; i++) {
+            map.put(i, i);
+            if (i > 1_000) {
+                assertEquals(i - 1_000, map.remove(i - 1_000));
+            }
+        }
+
+        List<Integer> values = map.sortedValues();
+
+        assertEquals(1_000, map.size());
+        assertEquals(1_000, values.size());
+        assertEquals(List.of(99_001, 100_000), List.of(values.getFirst(), values.getLast()));
+        assertNull(map.get(99_000));
+    }
+}
\ No newline at end of file